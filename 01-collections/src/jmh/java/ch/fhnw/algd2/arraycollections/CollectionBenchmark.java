@@ -0,0 +1,147 @@
+package ch.fhnw.algd2.arraycollections;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the basic operations of every array collection on a filled
+ * collection. The collections hold even numbers; add and remove use odd ones,
+ * so that every add inserts a new element which is removed again right away
+ * and the size stays constant.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class CollectionBenchmark {
+	private static final int PROBES = 1024;
+
+	@Param({ "SortedBag", "SortedSet", "UnsortedBag", "UnsortedSet", "ChunkedSortedBag", "LongKeySortedBag" })
+	public String kind;
+
+	@Param({ "10", "1000", "100000", "10000000" })
+	public int size;
+
+	/**
+	 * Order of the elements when filling: RANDOM, SORTED, REVERSE or DUPLICATES
+	 * (about 100 copies each). The sorted kinds end up alike for the first three;
+	 * see {@link InputOrderBenchmark} for adding and removing in this order.
+	 */
+	@Param({ "RANDOM", "SORTED", "REVERSE", "DUPLICATES" })
+	public String input;
+
+	private AbstractArrayCollection<Integer> collection;
+	private Integer[] probes, absent;
+	private int next = 0;
+
+	static AbstractArrayCollection<Integer> create(String kind, int capacity) {
+		switch (kind) {
+		case "SortedBag":
+			return new SortedBag<Integer>(capacity, GrowthPolicy.DEFAULT);
+		case "SortedSet":
+			return new SortedSet<Integer>(capacity, GrowthPolicy.DEFAULT);
+		case "UnsortedBag":
+			return new UnsortedBag<Integer>(capacity, GrowthPolicy.DEFAULT);
+		case "UnsortedSet":
+			return new UnsortedSet<Integer>(capacity, GrowthPolicy.DEFAULT);
+		case "ChunkedSortedBag":
+			return new ChunkedSortedBag<Integer>(capacity, GrowthPolicy.DEFAULT);
+		case "LongKeySortedBag":
+			return new LongKeySortedBag<Integer>(capacity, GrowthPolicy.DEFAULT, Integer::longValue);
+		default:
+			throw new IllegalArgumentException("Unknown collection " + kind);
+		}
+	}
+
+	static Integer[] values(String input, int size, Random random) {
+		Integer[] values = new Integer[size];
+		for (int i = 0; i < size; i++) {
+			switch (input) {
+			case "RANDOM":
+				values[i] = 2 * random.nextInt(size);
+				break;
+			case "SORTED":
+				values[i] = 2 * i;
+				break;
+			case "REVERSE":
+				values[i] = 2 * (size - 1 - i);
+				break;
+			case "DUPLICATES":
+				values[i] = 2 * random.nextInt(Math.max(1, size / 100));
+				break;
+			default:
+				throw new IllegalArgumentException("Unknown input " + input);
+			}
+		}
+		return values;
+	}
+
+	/**
+	 * Adds values to c. addAll merges into the sorted collections, adding one by
+	 * one would take hours at 10M elements; LongKeySortedBag has no merging
+	 * addAll, so it gets the values sorted and only appends.
+	 */
+	static void fill(AbstractArrayCollection<Integer> c, Integer[] values) {
+		if (c instanceof LongKeySortedBag) {
+			values = values.clone();
+			Arrays.sort(values);
+		}
+		c.addAll(Arrays.asList(values));
+	}
+
+	@Setup
+	public void fill() {
+		Random random = new Random(42);
+		collection = create(kind, size);
+		fill(collection, values(input, size, random));
+		probes = new Integer[PROBES];
+		absent = new Integer[PROBES];
+		for (int i = 0; i < PROBES; i++) {
+			probes[i] = random.nextInt(2 * size);
+			absent[i] = 2 * random.nextInt(size) + 1;
+		}
+	}
+
+	private int nextProbe() {
+		return next = (next + 1) & (PROBES - 1);
+	}
+
+	@Benchmark
+	public boolean contains() {
+		return collection.contains(probes[nextProbe()]);
+	}
+
+	@Benchmark
+	public boolean addAndRemove() {
+		Integer e = absent[nextProbe()];
+		collection.add(e);
+		return collection.remove(e);
+	}
+
+	@Benchmark
+	public Object[] toArray() {
+		return collection.toArray();
+	}
+
+	@Benchmark
+	public long forEach() {
+		long[] sum = new long[1];
+		collection.forEach(e -> sum[0] += e);
+		return sum[0];
+	}
+}
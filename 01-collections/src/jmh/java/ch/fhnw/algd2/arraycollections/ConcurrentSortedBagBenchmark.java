@@ -0,0 +1,68 @@
+package ch.fhnw.algd2.arraycollections;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Mixes optimistic readers with writers on one ConcurrentSortedBag. Every call
+ * is a single operation, a write with probability writePercent and a contains
+ * otherwise, so the mix does not depend on how fast readers and writers are.
+ * Writes alternate per thread between adding an odd element and removing it
+ * again, so the size stays constant.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConcurrentSortedBagBenchmark {
+	@Param({ "1000", "100000" })
+	public int size;
+
+	@Param({ "0", "10", "50" })
+	public int writePercent;
+
+	private ConcurrentSortedBag<Integer> bag;
+
+	@State(Scope.Thread)
+	public static class Writer {
+		private Integer added; // element added by the last write of this thread, or null
+	}
+
+	@Setup
+	public void fill() {
+		bag = new ConcurrentSortedBag<Integer>(size + 64, GrowthPolicy.DEFAULT);
+		for (int i = 0; i < size; i++) {
+			bag.add(2 * i);
+		}
+	}
+
+	@Benchmark
+	@Threads(8)
+	public boolean mixed(Writer writer) {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		if (random.nextInt(100) >= writePercent) return bag.contains(2 * random.nextInt(size));
+
+		Integer e = writer.added;
+		if (e == null) {
+			writer.added = 2 * random.nextInt(size) + 1;
+			return bag.add(writer.added);
+		}
+		writer.added = null;
+		return bag.remove(e);
+	}
+}
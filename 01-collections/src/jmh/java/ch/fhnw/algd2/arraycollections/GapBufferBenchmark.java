@@ -0,0 +1,64 @@
+package ch.fhnw.algd2.arraycollections;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Inserts and removes clusters of elements in the middle of a SortedBag, in
+ * the default mode, in gap buffer mode and with lazy removal.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class GapBufferBenchmark {
+	private static final int CLUSTER = 10_000;
+
+	@Param({ "100000", "1000000" })
+	public int size;
+
+	@Param({ "DEFAULT", "GAP_BUFFER", "LAZY_REMOVAL" })
+	public String mode;
+
+	private SortedBag<Integer> bag;
+
+	@Setup(Level.Invocation)
+	public void fill() {
+		bag = new SortedBag<Integer>(size + CLUSTER);
+		for (int i = 0; i < size; i++) {
+			bag.add(2 * i);
+		}
+		bag.setGapBuffer(mode.equals("GAP_BUFFER"));
+		bag.setLazyRemoval(mode.equals("LAZY_REMOVAL"));
+	}
+
+	@Benchmark
+	public int clusteredInserts() {
+		for (int i = 0; i < CLUSTER; i++) {
+			bag.add(size + 2 * i + 1);
+		}
+		return bag.size();
+	}
+
+	@Benchmark
+	public int clusteredRemovals() {
+		for (int i = 0; i < CLUSTER; i++) {
+			bag.remove(size + 2 * i);
+		}
+		return bag.size();
+	}
+}
@@ -0,0 +1,73 @@
+package ch.fhnw.algd2.arraycollections;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures how add and remove depend on the order of the input: add fills an
+ * empty collection one element at a time in the input order, remove empties a
+ * filled collection in the same order. Sorted input appends to the sorted
+ * collections and removes from their front, reverse input does the opposite.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class InputOrderBenchmark {
+	@Param({ "SortedBag", "SortedSet", "UnsortedBag", "UnsortedSet", "ChunkedSortedBag", "LongKeySortedBag" })
+	public String kind;
+
+	// adding one by one is quadratic for the plain sorted arrays, so the sizes stay small
+	@Param({ "1000", "100000" })
+	public int size;
+
+	/** See {@link CollectionBenchmark#input}. */
+	@Param({ "RANDOM", "SORTED", "REVERSE", "DUPLICATES" })
+	public String input;
+
+	private Integer[] values;
+	private AbstractArrayCollection<Integer> empty, full;
+
+	@Setup(Level.Trial)
+	public void createValues() {
+		values = CollectionBenchmark.values(input, size, new Random(42));
+	}
+
+	@Setup(Level.Invocation)
+	public void fill() {
+		empty = CollectionBenchmark.create(kind, size);
+		full = CollectionBenchmark.create(kind, size);
+		CollectionBenchmark.fill(full, values);
+	}
+
+	@Benchmark
+	public int add() {
+		for (Integer e : values) {
+			empty.add(e);
+		}
+		return empty.size();
+	}
+
+	@Benchmark
+	public int remove() {
+		for (Integer e : values) {
+			full.remove(e);
+		}
+		return full.size();
+	}
+}
@@ -0,0 +1,175 @@
+package ch.fhnw.algd2.arraycollections;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the int and long specializations with the generic classes holding
+ * Integer objects, for contains and for an add followed by a remove on a sorted
+ * bag, a sorted set and an unsorted set. The generic classes get int values,
+ * so that every add boxes its argument as it would for a caller holding
+ * primitives. Also compares the Eytzinger layout of FrozenSortedSet with the
+ * sorted array of SortedSet.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class PrimitiveBenchmark {
+	private static final int PROBES = 1024;
+
+	@Param({ "1000", "100000", "10000000" })
+	public int size;
+
+	private SortedSet<Integer> sortedSet;
+	private FrozenSortedSet<Integer> frozenSet;
+	private IntSortedSet intSortedSet;
+	private LongSortedSet longSortedSet;
+	private SortedBag<Integer> sortedBag;
+	private IntSortedBag intSortedBag;
+	private LongSortedBag longSortedBag;
+	private UnsortedSet<Integer> unsortedSet;
+	private IntUnsortedSet intUnsortedSet;
+	private LongUnsortedSet longUnsortedSet;
+	private int[] probes, absent;
+	private Integer[] boxedProbes;
+	private int next = 0;
+
+	@Setup
+	public void fill() {
+		Random random = new Random(42);
+		int capacity = size + 1;
+		sortedSet = new SortedSet<Integer>(capacity);
+		intSortedSet = new IntSortedSet(capacity);
+		longSortedSet = new LongSortedSet(capacity);
+		sortedBag = new SortedBag<Integer>(capacity);
+		intSortedBag = new IntSortedBag(capacity);
+		longSortedBag = new LongSortedBag(capacity);
+		unsortedSet = new UnsortedSet<Integer>(capacity);
+		intUnsortedSet = new IntUnsortedSet(capacity);
+		longUnsortedSet = new LongUnsortedSet(capacity);
+		for (int i = 0; i < size; i++) {
+			int value = 2 * i;
+			Integer boxed = value;
+			sortedSet.add(boxed);
+			intSortedSet.add(value);
+			longSortedSet.add(value);
+			sortedBag.add(boxed);
+			intSortedBag.add(value);
+			longSortedBag.add(value);
+			unsortedSet.add(boxed);
+			intUnsortedSet.add(value);
+			longUnsortedSet.add(value);
+		}
+		frozenSet = sortedSet.freeze();
+		probes = new int[PROBES];
+		absent = new int[PROBES];
+		boxedProbes = new Integer[PROBES];
+		for (int i = 0; i < PROBES; i++) {
+			probes[i] = random.nextInt(2 * size);
+			absent[i] = 2 * random.nextInt(size) + 1;
+			boxedProbes[i] = probes[i];
+		}
+	}
+
+	private int nextProbe() {
+		return next = (next + 1) & (PROBES - 1);
+	}
+
+	@Benchmark
+	public boolean sortedSetContains() {
+		return sortedSet.contains(boxedProbes[nextProbe()]);
+	}
+
+	@Benchmark
+	public boolean frozenSetContains() {
+		return frozenSet.contains(boxedProbes[nextProbe()]);
+	}
+
+	@Benchmark
+	public boolean intSortedSetContains() {
+		return intSortedSet.contains(probes[nextProbe()]);
+	}
+
+	@Benchmark
+	public boolean longSortedSetContains() {
+		return longSortedSet.contains(probes[nextProbe()]);
+	}
+
+	@Benchmark
+	public boolean sortedSetAddAndRemove() {
+		int e = absent[nextProbe()];
+		sortedSet.add(e);
+		return sortedSet.remove(e);
+	}
+
+	@Benchmark
+	public boolean intSortedSetAddAndRemove() {
+		int e = absent[nextProbe()];
+		intSortedSet.add(e);
+		return intSortedSet.remove(e);
+	}
+
+	@Benchmark
+	public boolean longSortedSetAddAndRemove() {
+		long e = absent[nextProbe()];
+		longSortedSet.add(e);
+		return longSortedSet.remove(e);
+	}
+
+	@Benchmark
+	public boolean sortedBagAddAndRemove() {
+		int e = absent[nextProbe()];
+		sortedBag.add(e);
+		return sortedBag.remove(e);
+	}
+
+	@Benchmark
+	public boolean intSortedBagAddAndRemove() {
+		int e = absent[nextProbe()];
+		intSortedBag.add(e);
+		return intSortedBag.remove(e);
+	}
+
+	@Benchmark
+	public boolean longSortedBagAddAndRemove() {
+		long e = absent[nextProbe()];
+		longSortedBag.add(e);
+		return longSortedBag.remove(e);
+	}
+
+	@Benchmark
+	public boolean unsortedSetAddAndRemove() {
+		int e = absent[nextProbe()];
+		unsortedSet.add(e);
+		return unsortedSet.remove(e);
+	}
+
+	@Benchmark
+	public boolean intUnsortedSetAddAndRemove() {
+		int e = absent[nextProbe()];
+		intUnsortedSet.add(e);
+		return intUnsortedSet.remove(e);
+	}
+
+	@Benchmark
+	public boolean longUnsortedSetAddAndRemove() {
+		long e = absent[nextProbe()];
+		longUnsortedSet.add(e);
+		return longUnsortedSet.remove(e);
+	}
+}
@@ -0,0 +1,69 @@
+package ch.fhnw.algd2.arraycollections;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures how a parallel stream over a SortedBag scales with the number of
+ * worker threads. The gap is put in the middle of the array in gap buffer mode,
+ * so that the spliterators have to scan both parts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class StreamBenchmark {
+	@Param({ "100000", "10000000" })
+	public int size;
+
+	@Param({ "1", "2", "4", "8" })
+	public int threads;
+
+	@Param({ "false", "true" })
+	public boolean gapBuffer;
+
+	private SortedBag<Integer> bag;
+	private ForkJoinPool pool;
+
+	@Setup
+	public void fill() {
+		bag = new SortedBag<Integer>(size + 1);
+		for (int i = 0; i < size; i++) {
+			bag.add(2 * i);
+		}
+		bag.setGapBuffer(gapBuffer);
+		bag.add(size); // moves the gap to the middle in gap buffer mode
+		pool = new ForkJoinPool(threads);
+	}
+
+	@TearDown
+	public void shutdown() {
+		pool.shutdown();
+	}
+
+	@Benchmark
+	public long sequentialSum() {
+		return bag.stream().mapToLong(Integer::longValue).sum();
+	}
+
+	@Benchmark
+	public long parallelSum() throws InterruptedException, ExecutionException {
+		return pool.submit(() -> bag.parallelStream().mapToLong(Integer::longValue).sum()).get();
+	}
+}
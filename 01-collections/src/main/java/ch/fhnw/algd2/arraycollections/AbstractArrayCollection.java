@@ -1,9 +1,36 @@
 package ch.fhnw.algd2.arraycollections;
 
+import java.lang.management.ManagementFactory;
 import java.util.AbstractCollection;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
 import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
 
 public abstract class AbstractArrayCollection<E> extends AbstractCollection<E> {
+	private final GrowthPolicy growthPolicy;
+	/** Number of structural modifications, used to make iterators fail-fast. */
+	protected int modCount = 0;
+	private Counters counters; // created when first instrumented, kept for registered MBeans
+	private Counters counting; // counters while instrumented, otherwise null
+
+	protected AbstractArrayCollection() {
+		this(GrowthPolicy.FIXED);
+	}
+
+	protected AbstractArrayCollection(GrowthPolicy growthPolicy) {
+		this.growthPolicy = Objects.requireNonNull(growthPolicy, "Growth policy must not be null");
+	}
+
 	@Override
 	public abstract boolean add(E e);
 
@@ -16,12 +43,341 @@ public abstract class AbstractArrayCollection<E> extends AbstractCollection<E> {
 	@Override
 	public abstract Object[] toArray();
 
+	/** Returns the element at position index, 0 <= index < size(). */
+	protected abstract E elementAt(int index);
+
+	/**
+	 * Removes the element at position index. Afterwards, the elements at
+	 * positions smaller than index are unchanged and the element at position
+	 * index, if any, has not been at a position smaller than index before.
+	 */
+	protected abstract void removeAt(int index);
+
+	/** Returns the characteristics of the spliterators of this collection. */
+	protected int characteristics() {
+		return Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.NONNULL;
+	}
+
+	/**
+	 * Returns the order reported by the spliterators if they are SORTED, or null
+	 * for the natural order.
+	 */
+	protected Comparator<? super E> comparator() {
+		return null;
+	}
+
+	/** Returns the length of the backing array. */
+	protected abstract int capacity();
+
+	/**
+	 * Replaces the backing array by one of length newCapacity containing the same
+	 * elements. newCapacity is never smaller than the number of occupied slots.
+	 */
+	protected abstract void resize(int newCapacity);
+
+	public GrowthPolicy getGrowthPolicy() {
+		return growthPolicy;
+	}
+
+	/**
+	 * Enlarges the backing array, if necessary, to hold at least minCapacity
+	 * elements. Explicit calls are not restricted by the growth policy.
+	 */
+	public void ensureCapacity(int minCapacity) {
+		if (minCapacity > capacity()) reallocate(minCapacity);
+	}
+
+	/** Shrinks the backing array to the current number of elements. */
+	public void trimToSize() {
+		if (size() < capacity()) reallocate(size());
+	}
+
+	/**
+	 * Makes room for minCapacity elements according to the growth policy. Growing
+	 * by a constant factor keeps the amortized cost per added element constant.
+	 * 
+	 * @throws IllegalStateException
+	 *           if the collection is full and must not grow any further
+	 */
+	protected final void grow(int minCapacity) {
+		int capacity = capacity();
+		if (minCapacity > capacity) reallocate(growthPolicy.newCapacity(capacity, minCapacity));
+	}
+
+	/** Calls resize and counts the reallocation. */
+	protected final void reallocate(int newCapacity) {
+		Counters c = counting;
+		if (c != null) c.reallocations.increment();
+		resize(newCapacity);
+	}
+
+	public boolean isInstrumented() {
+		return counting != null;
+	}
+
+	/**
+	 * Switches counting of comparisons, equals calls, element moves,
+	 * reallocations and toArray copies on or off. Counting is off by default and
+	 * then costs a null check per counted operation. Switching it off keeps the
+	 * counters. It should be switched on before the collection is shared between
+	 * threads.
+	 */
+	public void setInstrumented(boolean instrumented) {
+		if (instrumented && counters == null) counters = new Counters();
+		counting = instrumented ? counters : null;
+	}
+
+	/** Returns a snapshot of the counters. */
+	public CollectionMetrics getMetrics() {
+		return counters == null ? CollectionMetrics.NONE : counters.snapshot();
+	}
+
+	public void resetMetrics() {
+		if (counters != null) counters.reset();
+	}
+
+	/**
+	 * Switches instrumentation on and registers the counters with the platform
+	 * MBean server as ch.fhnw.algd2.arraycollections:type=(class name),name=(name).
+	 * The MBean does not refer to the collection, but should be unregistered once
+	 * the collection is no longer used.
+	 * 
+	 * @return the name of the registered MBean
+	 */
+	public ObjectName registerMetrics(String name) throws JMException {
+		setInstrumented(true);
+		ObjectName objectName = new ObjectName(AbstractArrayCollection.class.getPackageName() + ":type="
+				+ getClass().getSimpleName() + ",name=" + ObjectName.quote(name));
+		ManagementFactory.getPlatformMBeanServer().registerMBean(counters, objectName);
+		return objectName;
+	}
+
+	/** Counts n calls of compareTo or of the comparator, if instrumented. */
+	protected final void countComparisons(int n) {
+		Counters c = counting;
+		if (c != null) c.comparisons.add(n);
+	}
+
+	/** Counts n equals calls on elements, if instrumented. */
+	protected final void countEquals(int n) {
+		Counters c = counting;
+		if (c != null) c.equalsCalls.add(n);
+	}
+
+	/** Counts n elements moved within the backing array, if instrumented. */
+	protected final void countMoves(int n) {
+		Counters c = counting;
+		if (c != null) c.elementMoves.add(n);
+	}
+
+	/** Counts an array copied by toArray, if instrumented. */
+	protected final void countArrayCopy() {
+		Counters c = counting;
+		if (c != null) c.arrayCopies.increment();
+	}
+
 	protected final void checkNull(Object e) {
 		if (e == null) throw new NullPointerException("Element must not be null");
 	}
 
+	/**
+	 * Tests the elements data[0, size) in order and returns a bit set of the
+	 * positions of the matching ones, or null if none match. Since all elements
+	 * are tested before any is removed, a failing filter leaves the collection
+	 * unchanged.
+	 */
+	protected static <E> long[] matching(E[] data, int size, Predicate<? super E> filter) {
+		long[] marks = null;
+		for (int i = 0; i < size; i++) {
+			if (filter.test(data[i])) {
+				if (marks == null) marks = new long[(size + 63) >> 6];
+				marks[i >> 6] |= 1L << i;
+			}
+		}
+		return marks;
+	}
+
+	protected static boolean isMarked(long[] marks, int i) {
+		return (marks[i >> 6] & 1L << i) != 0;
+	}
+
+	/**
+	 * Removes the marked positions from data[0, size) in one pass, keeping the
+	 * order of the remaining elements, and returns their number.
+	 */
+	protected static int removeMarked(Object[] data, int size, long[] marks) {
+		int w = 0;
+		for (int i = 0; i < size; i++) {
+			if (!isMarked(marks, i)) data[w++] = data[i];
+		}
+		Arrays.fill(data, w, size, null);
+		return w;
+	}
+
 	@Override
 	public Iterator<E> iterator() {
-		throw new UnsupportedOperationException("Iterator not supported. Use toArray().");
+		return new ArrayIterator();
+	}
+
+	@Override
+	public Spliterator<E> spliterator() {
+		return spliterator(0, size());
+	}
+
+	/** Returns a spliterator over the elements at positions [from, to). */
+	protected final Spliterator<E> spliterator(int from, int to) {
+		return new ArraySpliterator(from, to, modCount);
+	}
+
+	@Override
+	public void forEach(Consumer<? super E> action) {
+		Objects.requireNonNull(action);
+		int expectedModCount = modCount;
+		forEachInRange(0, size(), action);
+		if (modCount != expectedModCount) throw new ConcurrentModificationException();
+	}
+
+	/**
+	 * Passes the elements at positions [from, to) to action. Used by forEach and
+	 * by the spliterators; subclasses may replace the per element elementAt call
+	 * by a plain loop over their backing array.
+	 */
+	protected void forEachInRange(int from, int to, Consumer<? super E> action) {
+		for (int i = from; i < to; i++) {
+			action.accept(elementAt(i));
+		}
+	}
+
+	/** Counters of an instrumented collection; adders, since concurrent readers count as well. */
+	private static final class Counters implements CollectionMetricsMXBean {
+		private final LongAdder comparisons = new LongAdder();
+		private final LongAdder equalsCalls = new LongAdder();
+		private final LongAdder elementMoves = new LongAdder();
+		private final LongAdder reallocations = new LongAdder();
+		private final LongAdder arrayCopies = new LongAdder();
+
+		private CollectionMetrics snapshot() {
+			return new CollectionMetrics(comparisons.sum(), equalsCalls.sum(), elementMoves.sum(), reallocations.sum(),
+					arrayCopies.sum());
+		}
+
+		@Override
+		public long getComparisons() {
+			return comparisons.sum();
+		}
+
+		@Override
+		public long getEqualsCalls() {
+			return equalsCalls.sum();
+		}
+
+		@Override
+		public long getElementMoves() {
+			return elementMoves.sum();
+		}
+
+		@Override
+		public long getReallocations() {
+			return reallocations.sum();
+		}
+
+		@Override
+		public long getArrayCopies() {
+			return arrayCopies.sum();
+		}
+
+		@Override
+		public void reset() {
+			comparisons.reset();
+			equalsCalls.reset();
+			elementMoves.reset();
+			reallocations.reset();
+			arrayCopies.reset();
+		}
+	}
+
+	/** Iterates the backing array directly, without copying it. */
+	private class ArrayIterator implements Iterator<E> {
+		private int cursor = 0, lastReturned = -1;
+		private int expectedModCount = modCount;
+
+		@Override
+		public boolean hasNext() {
+			return cursor < size();
+		}
+
+		@Override
+		public E next() {
+			if (modCount != expectedModCount) throw new ConcurrentModificationException();
+			if (cursor >= size()) throw new NoSuchElementException();
+			lastReturned = cursor++;
+			return elementAt(lastReturned);
+		}
+
+		@Override
+		public void remove() {
+			if (lastReturned < 0) throw new IllegalStateException();
+			if (modCount != expectedModCount) throw new ConcurrentModificationException();
+			removeAt(lastReturned);
+			cursor = lastReturned;
+			lastReturned = -1;
+			expectedModCount = modCount;
+		}
+	}
+
+	/** Splits the range of positions [origin, fence) in halves. */
+	private class ArraySpliterator implements Spliterator<E> {
+		private int origin;
+		private final int fence;
+		private final int expectedModCount;
+
+		private ArraySpliterator(int origin, int fence, int expectedModCount) {
+			this.origin = origin;
+			this.fence = fence;
+			this.expectedModCount = expectedModCount;
+		}
+
+		@Override
+		public boolean tryAdvance(Consumer<? super E> action) {
+			Objects.requireNonNull(action);
+			if (modCount != expectedModCount) throw new ConcurrentModificationException();
+			if (origin >= fence) return false;
+			action.accept(elementAt(origin++));
+			return true;
+		}
+
+		@Override
+		public void forEachRemaining(Consumer<? super E> action) {
+			Objects.requireNonNull(action);
+			int from = origin;
+			origin = fence;
+			forEachInRange(from, fence, action);
+			if (modCount != expectedModCount) throw new ConcurrentModificationException();
+		}
+
+		@Override
+		public Spliterator<E> trySplit() {
+			int mid = (origin + fence) >>> 1;
+			if (mid <= origin) return null;
+			Spliterator<E> prefix = new ArraySpliterator(origin, mid, expectedModCount);
+			origin = mid;
+			return prefix;
+		}
+
+		@Override
+		public long estimateSize() {
+			return fence - origin;
+		}
+
+		@Override
+		public int characteristics() {
+			return AbstractArrayCollection.this.characteristics();
+		}
+
+		@Override
+		public Comparator<? super E> getComparator() {
+			if (hasCharacteristics(Spliterator.SORTED)) return comparator();
+			throw new IllegalStateException();
+		}
 	}
 }
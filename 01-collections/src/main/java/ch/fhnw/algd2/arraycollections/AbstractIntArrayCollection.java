@@ -0,0 +1,67 @@
+package ch.fhnw.algd2.arraycollections;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Base class of the array collections storing primitive int values. The values
+ * are kept in a int[] so that neither adding nor searching allocates or
+ * dereferences boxed Integer objects.
+ */
+public abstract class AbstractIntArrayCollection {
+	protected int[] data;
+	protected int size = 0;
+	private final GrowthPolicy growthPolicy;
+
+	protected AbstractIntArrayCollection(int capacity, GrowthPolicy growthPolicy) {
+		this.growthPolicy = Objects.requireNonNull(growthPolicy, "Growth policy must not be null");
+		data = new int[capacity];
+	}
+
+	public abstract boolean add(int e);
+
+	public abstract boolean remove(int e);
+
+	public abstract boolean contains(int e);
+
+	public int size() {
+		return size;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	public int[] toArray() {
+		return Arrays.copyOf(data, size);
+	}
+
+	public GrowthPolicy getGrowthPolicy() {
+		return growthPolicy;
+	}
+
+	/** See {@link AbstractArrayCollection#ensureCapacity(int)}. */
+	public void ensureCapacity(int minCapacity) {
+		if (minCapacity > data.length) resize(minCapacity);
+	}
+
+	/** See {@link AbstractArrayCollection#trimToSize()}. */
+	public void trimToSize() {
+		if (size < data.length) resize(size);
+	}
+
+	/** See {@link AbstractArrayCollection#grow(int)}. */
+	protected final void grow(int minCapacity) {
+		if (minCapacity > data.length) resize(growthPolicy.newCapacity(data.length, minCapacity));
+	}
+
+	/** See {@link AbstractArrayCollection#resize(int)}. */
+	protected void resize(int newCapacity) {
+		data = Arrays.copyOf(data, newCapacity);
+	}
+
+	@Override
+	public String toString() {
+		return Arrays.toString(toArray());
+	}
+}
@@ -0,0 +1,234 @@
+package ch.fhnw.algd2.arraycollections;
+
+import java.util.AbstractCollection;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Predicate;
+
+/**
+ * Base class of the array collections keeping their elements sorted. Since
+ * elements can be accessed by position, range queries, rank and select only
+ * need binary searches and never copy the array.
+ * <p>
+ * The elements are ordered by a comparator, or by their natural order if the
+ * comparator is null. In the latter case the elements must be Comparable.
+ */
+public abstract class AbstractSortedArrayCollection<E> extends AbstractArrayCollection<E> {
+	private final Comparator<? super E> comparator;
+
+	protected AbstractSortedArrayCollection(GrowthPolicy growthPolicy) {
+		this(growthPolicy, null);
+	}
+
+	protected AbstractSortedArrayCollection(GrowthPolicy growthPolicy, Comparator<? super E> comparator) {
+		super(growthPolicy);
+		this.comparator = comparator;
+	}
+
+	/** Returns the comparator ordering the elements, or null for the natural order. */
+	@Override
+	public Comparator<? super E> comparator() {
+		return comparator;
+	}
+
+	/** Compares two elements; the natural order is called directly without a comparator. */
+	@SuppressWarnings("unchecked")
+	protected final int compare(E a, E b) {
+		countComparisons(1);
+		return comparator == null ? ((Comparable<? super E>)a).compareTo(b) : comparator.compare(a, b);
+	}
+
+	/**
+	 * Returns the order to pass to library sorts and searches: the comparator,
+	 * or, while instrumented, a comparator calling compare, so that their
+	 * comparisons are counted as well.
+	 */
+	protected final Comparator<? super E> order() {
+		return isInstrumented() ? this::compare : comparator;
+	}
+
+	/** Returns the position of the first element not smaller than e. */
+	protected final int lowerBound(E e) {
+		int lo = 0, hi = size();
+		while (lo < hi) {
+			int mid = (lo + hi) >>> 1;
+			if (compare(elementAt(mid), e) < 0) lo = mid + 1;
+			else hi = mid;
+		}
+		return lo;
+	}
+
+	/** Returns the position of the first element greater than e. */
+	protected final int upperBound(E e) {
+		int lo = 0, hi = size();
+		while (lo < hi) {
+			int mid = (lo + hi) >>> 1;
+			if (compare(elementAt(mid), e) <= 0) lo = mid + 1;
+			else hi = mid;
+		}
+		return lo;
+	}
+
+	@SuppressWarnings("unchecked")
+	private E elementOf(Object o) {
+		checkNull(o);
+		return (E)o;
+	}
+
+	/** Returns the number of elements smaller than e. */
+	public int rank(E e) {
+		return lowerBound(elementOf(e));
+	}
+
+	/** Returns the element at position k in sorted order. */
+	public E select(int k) {
+		if (k < 0 || k >= size()) {
+			throw new IndexOutOfBoundsException("Index " + k + " is out of bounds for length " + size() + ".");
+		}
+		return elementAt(k);
+	}
+
+	/** Returns the greatest element smaller than or equal to e, or null if there is none. */
+	public E floor(E e) {
+		int index = upperBound(elementOf(e));
+		return index > 0 ? elementAt(index - 1) : null;
+	}
+
+	/** Returns the smallest element greater than or equal to e, or null if there is none. */
+	public E ceiling(E e) {
+		int index = lowerBound(elementOf(e));
+		return index < size() ? elementAt(index) : null;
+	}
+
+	/** Returns the position of the first element equal to o, or -1. */
+	public int firstIndexOf(Object o) {
+		E e = elementOf(o);
+		int index = lowerBound(e);
+		return index < size() && compare(elementAt(index), e) == 0 ? index : -1;
+	}
+
+	/** Returns the position of the last element equal to o, or -1. */
+	public int lastIndexOf(Object o) {
+		E e = elementOf(o);
+		int index = upperBound(e) - 1;
+		return index >= 0 && compare(elementAt(index), e) == 0 ? index : -1;
+	}
+
+	/** Returns the number of elements in [lo, hi). */
+	public int countInRange(E lo, E hi) {
+		return Math.max(0, lowerBound(elementOf(hi)) - lowerBound(elementOf(lo)));
+	}
+
+	/**
+	 * Returns a predicate telling whether an element is contained in c. The
+	 * elements of c are sorted once; as long as the elements are tested in
+	 * ascending order, the predicate walks them alongside in a single merge
+	 * pass instead of calling c.contains.
+	 */
+	private Predicate<E> containedIn(Collection<?> c) {
+		Object[] elements = c.toArray();
+		int n = 0;
+		for (Object o : elements) {
+			if (o != null) elements[n++] = o;
+		}
+		@SuppressWarnings("unchecked")
+		E[] sorted = (E[])elements;
+		Arrays.sort(sorted, 0, n, order());
+		int length = n;
+		return new Predicate<E>() {
+			private int j = 0;
+
+			@Override
+			public boolean test(E e) {
+				while (j < length && compare(sorted[j], e) < 0) {
+					j++;
+				}
+				return j < length && compare(sorted[j], e) == 0;
+			}
+		};
+	}
+
+	/**
+	 * Removes all elements contained in c, comparing elements with the order of
+	 * this collection. Relies on removeIf testing the elements in ascending
+	 * order.
+	 */
+	@Override
+	public boolean removeAll(Collection<?> c) {
+		return removeIf(containedIn(c));
+	}
+
+	/** Retains only the elements contained in c, see removeAll. */
+	@Override
+	public boolean retainAll(Collection<?> c) {
+		return removeIf(containedIn(c).negate());
+	}
+
+	/**
+	 * Returns a read-only view of the elements in [lo, hi). The view reflects
+	 * later changes of this collection; its bounds are searched again on every
+	 * access.
+	 */
+	protected Collection<E> range(E lo, E hi) {
+		return new RangeView(elementOf(lo), elementOf(hi));
+	}
+
+	@Override
+	protected int characteristics() {
+		return super.characteristics() | Spliterator.ORDERED | Spliterator.SORTED;
+	}
+
+	private class RangeView extends AbstractCollection<E> {
+		private final E lo, hi;
+
+		private RangeView(E lo, E hi) {
+			this.lo = lo;
+			this.hi = hi;
+		}
+
+		private int from() {
+			return lowerBound(lo);
+		}
+
+		private int to(int from) {
+			return Math.max(from, lowerBound(hi));
+		}
+
+		@Override
+		public int size() {
+			int from = from();
+			return to(from) - from;
+		}
+
+		@Override
+		public boolean contains(Object o) {
+			E e = elementOf(o);
+			return compare(e, lo) >= 0 && compare(e, hi) < 0 && AbstractSortedArrayCollection.this.contains(e);
+		}
+
+		@Override
+		public Iterator<E> iterator() {
+			return Spliterators.iterator(spliterator());
+		}
+
+		@Override
+		public Spliterator<E> spliterator() {
+			int from = from();
+			return AbstractSortedArrayCollection.this.spliterator(from, to(from));
+		}
+
+		@Override
+		public Object[] toArray() {
+			int from = from(), to = to(from);
+			Object[] result = new Object[to - from];
+			for (int i = from; i < to; i++) {
+				result[i - from] = elementAt(i);
+			}
+			return result;
+		}
+	}
+}
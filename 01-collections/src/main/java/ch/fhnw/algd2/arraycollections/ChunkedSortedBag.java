@@ -0,0 +1,313 @@
+package ch.fhnw.algd2.arraycollections;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.function.Consumer;
+
+/**
+ * Sorted bag for large numbers of elements. The elements are stored in sorted
+ * leaf arrays of bounded length; a full leaf is split in halves and a leaf
+ * which became small is merged with its successor. An insertion or removal
+ * therefore only shifts the elements of one leaf instead of the whole array.
+ * <p>
+ * The leaves are found by a binary search over their last elements, positions
+ * by a Fenwick tree over the leaf sizes, both in O(log n). An insertion or
+ * removal which does not split or merge a leaf costs O(log n + L) for leaves
+ * of capacity L. A split or merge shifts the array of leaves and rebuilds the
+ * Fenwick tree in O(n / L); since it happens at most once per L / 4
+ * insertions or removals in a leaf, this adds amortized O(n / L^2). The
+ * capacity bounds the number of elements; leaves are allocated as needed.
+ */
+public class ChunkedSortedBag<E> extends AbstractSortedArrayCollection<E> {
+	public static final int DEFAULT_CAPACITY = 100;
+	public static final int DEFAULT_LEAF_CAPACITY = 256;
+	private final int leafCapacity;
+	private Object[][] leaves = new Object[4][];
+	private int[] sizes = new int[4]; // number of elements in each leaf
+	private int[] tree = new int[5]; // Fenwick tree over sizes, 1-based
+	private int leafCount = 0;
+	private int size = 0;
+	private int capacity;
+
+	public ChunkedSortedBag() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	public ChunkedSortedBag(int capacity) {
+		this(capacity, GrowthPolicy.FIXED);
+	}
+
+	public ChunkedSortedBag(int capacity, GrowthPolicy growthPolicy) {
+		this(capacity, growthPolicy, null);
+	}
+
+	public ChunkedSortedBag(int capacity, GrowthPolicy growthPolicy, Comparator<? super E> comparator) {
+		this(capacity, growthPolicy, comparator, DEFAULT_LEAF_CAPACITY);
+	}
+
+	/** Creates a bag whose leaves hold at most leafCapacity (at least 4) elements. */
+	public ChunkedSortedBag(int capacity, GrowthPolicy growthPolicy, Comparator<? super E> comparator, int leafCapacity) {
+		super(growthPolicy, comparator);
+		if (leafCapacity < 4) throw new IllegalArgumentException("Leaf capacity must be at least 4");
+		this.capacity = capacity;
+		this.leafCapacity = leafCapacity;
+	}
+
+	@SuppressWarnings("unchecked")
+	private E elementOf(Object o) {
+		return (E)o;
+	}
+
+	private E last(int leaf) {
+		return elementOf(leaves[leaf][sizes[leaf] - 1]);
+	}
+
+	/**
+	 * Returns the first leaf whose last element is greater than e (or not
+	 * smaller than e if inclusive), or leafCount if there is none.
+	 */
+	private int leafFor(E e, boolean inclusive) {
+		int lo = 0, hi = leafCount;
+		while (lo < hi) {
+			int mid = (lo + hi) >>> 1;
+			int c = compare(last(mid), e);
+			if (c < 0 || c == 0 && !inclusive) lo = mid + 1;
+			else hi = mid;
+		}
+		return lo;
+	}
+
+	/** Returns the first position in leaf whose element is greater than e (or not smaller if inclusive). */
+	private int positionIn(int leaf, E e, boolean inclusive) {
+		Object[] elements = leaves[leaf];
+		int lo = 0, hi = sizes[leaf];
+		while (lo < hi) {
+			int mid = (lo + hi) >>> 1;
+			int c = compare(elementOf(elements[mid]), e);
+			if (c < 0 || c == 0 && !inclusive) lo = mid + 1;
+			else hi = mid;
+		}
+		return lo;
+	}
+
+	/** Adds delta to the size of leaf in the Fenwick tree. */
+	private void updateTree(int leaf, int delta) {
+		for (int i = leaf + 1; i <= leafCount; i += i & -i) {
+			tree[i] += delta;
+		}
+	}
+
+	/** Rebuilds the Fenwick tree in linear time after leaves were split or merged. */
+	private void rebuildTree() {
+		Arrays.fill(tree, 0);
+		for (int i = 1; i <= leafCount; i++) {
+			tree[i] += sizes[i - 1];
+			int parent = i + (i & -i);
+			if (parent <= leafCount) tree[parent] += tree[i];
+		}
+	}
+
+	/** Returns the number of elements in the leaves before leaf. */
+	private int offset(int leaf) {
+		int sum = 0;
+		for (int i = leaf; i > 0; i -= i & -i) {
+			sum += tree[i];
+		}
+		return sum;
+	}
+
+	/** Returns the leaf storing the element at position index. */
+	private int leafAt(int index) {
+		int leaf = 0;
+		for (int step = Integer.highestOneBit(leafCount); step > 0; step >>= 1) {
+			if (leaf + step <= leafCount && tree[leaf + step] <= index) {
+				leaf += step;
+				index -= tree[leaf];
+			}
+		}
+		return leaf;
+	}
+
+	/** Inserts an empty leaf at position leaf; the Fenwick tree has to be rebuilt afterwards. */
+	private void insertLeaf(int leaf) {
+		if (leafCount == leaves.length) {
+			leaves = Arrays.copyOf(leaves, 2 * leafCount);
+			sizes = Arrays.copyOf(sizes, 2 * leafCount);
+			tree = new int[2 * leafCount + 1];
+		}
+		System.arraycopy(leaves, leaf, leaves, leaf + 1, leafCount - leaf);
+		System.arraycopy(sizes, leaf, sizes, leaf + 1, leafCount - leaf);
+		leaves[leaf] = new Object[leafCapacity];
+		sizes[leaf] = 0;
+		leafCount++;
+	}
+
+	/** Removes leaf; the Fenwick tree has to be rebuilt afterwards. */
+	private void deleteLeaf(int leaf) {
+		leafCount--;
+		System.arraycopy(leaves, leaf + 1, leaves, leaf, leafCount - leaf);
+		System.arraycopy(sizes, leaf + 1, sizes, leaf, leafCount - leaf);
+		leaves[leafCount] = null;
+		sizes[leafCount] = 0;
+	}
+
+	/** Moves the upper half of a full leaf into a new leaf behind it. */
+	private void split(int leaf) {
+		insertLeaf(leaf + 1);
+		int half = sizes[leaf] / 2, moved = sizes[leaf] - half;
+		countMoves(moved);
+		System.arraycopy(leaves[leaf], half, leaves[leaf + 1], 0, moved);
+		Arrays.fill(leaves[leaf], half, sizes[leaf], null);
+		sizes[leaf] = half;
+		sizes[leaf + 1] = moved;
+		rebuildTree();
+	}
+
+	@Override
+	public boolean add(E e) {
+		checkNull(e);
+		grow(size + 1);
+		int leaf = 0, pos = 0;
+		if (leafCount == 0) {
+			insertLeaf(0);
+		} else {
+			leaf = Math.min(leafFor(e, false), leafCount - 1);
+			pos = positionIn(leaf, e, false);
+		}
+		if (sizes[leaf] == leafCapacity) {
+			split(leaf);
+			if (pos > sizes[leaf]) {
+				pos -= sizes[leaf];
+				leaf++;
+			}
+		}
+		Object[] elements = leaves[leaf];
+		countMoves(sizes[leaf] - pos);
+		System.arraycopy(elements, pos, elements, pos + 1, sizes[leaf] - pos);
+		elements[pos] = e;
+		sizes[leaf]++;
+		updateTree(leaf, 1);
+		size++;
+		modCount++;
+		return true;
+	}
+
+	@Override
+	public boolean remove(Object o) {
+		checkNull(o);
+		E e = elementOf(o);
+		int leaf = leafFor(e, true);
+		if (leaf == leafCount) return false;
+		int pos = positionIn(leaf, e, true);
+		if (compare(elementOf(leaves[leaf][pos]), e) != 0) return false;
+
+		removeFromLeaf(leaf, pos);
+		return true;
+	}
+
+	@Override
+	protected void removeAt(int index) {
+		int leaf = leafAt(index);
+		removeFromLeaf(leaf, index - offset(leaf));
+	}
+
+	/**
+	 * Removes the element at pos in leaf. An emptied leaf is dropped, a leaf
+	 * below a quarter of the leaf capacity absorbs its successor if both fit
+	 * into half a leaf.
+	 */
+	private void removeFromLeaf(int leaf, int pos) {
+		Object[] elements = leaves[leaf];
+		int n = --sizes[leaf];
+		countMoves(n - pos);
+		System.arraycopy(elements, pos + 1, elements, pos, n - pos);
+		elements[n] = null;
+		size--;
+		modCount++;
+		if (n == 0) {
+			deleteLeaf(leaf);
+			rebuildTree();
+		} else if (n < leafCapacity / 4 && leaf + 1 < leafCount && n + sizes[leaf + 1] <= leafCapacity / 2) {
+			countMoves(sizes[leaf + 1]);
+			System.arraycopy(leaves[leaf + 1], 0, elements, n, sizes[leaf + 1]);
+			sizes[leaf] += sizes[leaf + 1];
+			deleteLeaf(leaf + 1);
+			rebuildTree();
+		} else {
+			updateTree(leaf, -1);
+		}
+	}
+
+	@Override
+	protected E elementAt(int index) {
+		int leaf = leafAt(index);
+		return elementOf(leaves[leaf][index - offset(leaf)]);
+	}
+
+	/** Walks the leaves in plain loops instead of locating every position. */
+	@Override
+	protected void forEachInRange(int from, int to, Consumer<? super E> action) {
+		if (from >= to) return;
+		int leaf = leafAt(from), pos = from - offset(leaf);
+		for (int remaining = to - from; remaining > 0; leaf++, pos = 0) {
+			Object[] elements = leaves[leaf];
+			int end = Math.min(sizes[leaf], pos + remaining);
+			remaining -= end - pos;
+			for (; pos < end; pos++) {
+				action.accept(elementOf(elements[pos]));
+			}
+		}
+	}
+
+	@Override
+	public void clear() {
+		leaves = new Object[4][];
+		sizes = new int[4];
+		tree = new int[5];
+		leafCount = 0;
+		size = 0;
+		modCount++;
+	}
+
+	/** Returns a read-only view of the elements in [lo, hi). */
+	public Collection<E> subBag(E lo, E hi) {
+		return range(lo, hi);
+	}
+
+	@Override
+	public boolean contains(Object o) {
+		checkNull(o);
+		E e = elementOf(o);
+		int leaf = leafFor(e, true);
+		return leaf < leafCount && compare(elementOf(leaves[leaf][positionIn(leaf, e, true)]), e) == 0;
+	}
+
+	@Override
+	public Object[] toArray() {
+		countArrayCopy();
+		Object[] result = new Object[size];
+		int pos = 0;
+		for (int leaf = 0; leaf < leafCount; leaf++) {
+			System.arraycopy(leaves[leaf], 0, result, pos, sizes[leaf]);
+			pos += sizes[leaf];
+		}
+		return result;
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	protected int capacity() {
+		return capacity;
+	}
+
+	/** Only changes the bound of the number of elements; leaves are allocated on demand. */
+	@Override
+	protected void resize(int newCapacity) {
+		capacity = newCapacity;
+	}
+}
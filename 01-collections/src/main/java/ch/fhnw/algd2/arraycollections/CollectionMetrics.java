@@ -0,0 +1,63 @@
+package ch.fhnw.algd2.arraycollections;
+
+/**
+ * Snapshot of the counters of an instrumented array collection, see
+ * {@link AbstractArrayCollection#setInstrumented(boolean)}. Comparing the
+ * comparisons with the element moves shows whether a sorted collection spends
+ * its time searching or shifting.
+ */
+public final class CollectionMetrics {
+	/** Metrics of a collection which was never instrumented. */
+	public static final CollectionMetrics NONE = new CollectionMetrics(0, 0, 0, 0, 0);
+
+	private final long comparisons;
+	private final long equalsCalls;
+	private final long elementMoves;
+	private final long reallocations;
+	private final long arrayCopies;
+
+	CollectionMetrics(long comparisons, long equalsCalls, long elementMoves, long reallocations, long arrayCopies) {
+		this.comparisons = comparisons;
+		this.equalsCalls = equalsCalls;
+		this.elementMoves = elementMoves;
+		this.reallocations = reallocations;
+		this.arrayCopies = arrayCopies;
+	}
+
+	/** Returns the number of calls of compareTo or of the comparator. */
+	public long getComparisons() {
+		return comparisons;
+	}
+
+	/** Returns the number of equals calls on elements. */
+	public long getEqualsCalls() {
+		return equalsCalls;
+	}
+
+	/** Returns the number of elements moved within the backing array, e.g. by shifts. */
+	public long getElementMoves() {
+		return elementMoves;
+	}
+
+	/** Returns the number of times the backing array was replaced by one of another length. */
+	public long getReallocations() {
+		return reallocations;
+	}
+
+	/** Returns the number of arrays copied by toArray. */
+	public long getArrayCopies() {
+		return arrayCopies;
+	}
+
+	/** Returns the difference of this and an earlier snapshot of the same collection. */
+	public CollectionMetrics since(CollectionMetrics earlier) {
+		return new CollectionMetrics(comparisons - earlier.comparisons, equalsCalls - earlier.equalsCalls,
+				elementMoves - earlier.elementMoves, reallocations - earlier.reallocations, arrayCopies - earlier.arrayCopies);
+	}
+
+	@Override
+	public String toString() {
+		return "CollectionMetrics[comparisons=" + comparisons + ", equalsCalls=" + equalsCalls + ", elementMoves="
+				+ elementMoves + ", reallocations=" + reallocations + ", arrayCopies=" + arrayCopies + "]";
+	}
+}
@@ -0,0 +1,21 @@
+package ch.fhnw.algd2.arraycollections;
+
+/**
+ * Management interface of the counters of an instrumented array collection,
+ * see {@link AbstractArrayCollection#registerMetrics(String)}. The attributes
+ * are those of {@link CollectionMetrics}.
+ */
+public interface CollectionMetricsMXBean {
+	long getComparisons();
+
+	long getEqualsCalls();
+
+	long getElementMoves();
+
+	long getReallocations();
+
+	long getArrayCopies();
+
+	/** Sets all counters to zero. */
+	void reset();
+}
@@ -0,0 +1,287 @@
+package ch.fhnw.algd2.arraycollections;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Thread-safe sorted bag. Modifications hold the write lock of a StampedLock.
+ * Queries first run without locking and only validate afterwards that no
+ * modification happened in the meantime; readers therefore do not block each
+ * other and only fall back to the read lock if a writer interfered.
+ * <p>
+ * Iterators, spliterators, views and forEach work on a snapshot taken under
+ * the read lock; they never throw a ConcurrentModificationException. The
+ * callbacks of forEach and removeIf run without holding a lock.
+ */
+public class ConcurrentSortedBag<E> extends SortedBag<E> {
+	private final StampedLock lock = new StampedLock();
+	private volatile Thread writer; // holder of the write lock, the lock itself is not reentrant
+
+	public ConcurrentSortedBag() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	public ConcurrentSortedBag(int capacity) {
+		this(capacity, GrowthPolicy.FIXED);
+	}
+
+	public ConcurrentSortedBag(int capacity, GrowthPolicy growthPolicy) {
+		this(capacity, growthPolicy, null);
+	}
+
+	public ConcurrentSortedBag(int capacity, GrowthPolicy growthPolicy, Comparator<? super E> comparator) {
+		super(capacity, growthPolicy, comparator);
+	}
+
+	/**
+	 * Runs query optimistically and repeats it under the read lock if a writer
+	 * interfered. A query racing with a writer may see a half shifted array and
+	 * fail; such failures are discarded if validation shows the interference.
+	 */
+	private <T> T read(Supplier<T> query) {
+		if (writer == Thread.currentThread()) return query.get();
+		long stamp = lock.tryOptimisticRead();
+		if (stamp != 0) {
+			try {
+				T result = query.get();
+				if (lock.validate(stamp)) return result;
+			}
+			catch (RuntimeException e) {
+				if (lock.validate(stamp)) throw e;
+			}
+		}
+		stamp = lock.readLock();
+		try {
+			return query.get();
+		}
+		finally {
+			lock.unlockRead(stamp);
+		}
+	}
+
+	private <T> T write(Supplier<T> update) {
+		long stamp = lock.writeLock();
+		writer = Thread.currentThread();
+		try {
+			return update.get();
+		}
+		finally {
+			writer = null;
+			lock.unlockWrite(stamp);
+		}
+	}
+
+	@Override
+	public boolean add(E e) {
+		return write(() -> super.add(e));
+	}
+
+	@Override
+	public boolean addAll(Collection<? extends E> c) {
+		Object[] batch = c.toArray(); // outside of the lock, c may be this bag
+		return write(() -> super.addAll(snapshot(batch)));
+	}
+
+	@Override
+	public boolean remove(Object o) {
+		return write(() -> super.remove(o));
+	}
+
+	/**
+	 * Tests filter on a snapshot without holding a lock, so that the filter may
+	 * use this bag, and then removes one element equal to each matching one
+	 * under the write lock. Elements added in the meantime are not tested.
+	 */
+	@Override
+	public boolean removeIf(Predicate<? super E> filter) {
+		Objects.requireNonNull(filter);
+		Object[] matching = toArray();
+		int n = 0;
+		for (Object o : matching) {
+			if (filter.test(elementOf(o))) matching[n++] = o;
+		}
+		if (n == 0) return false;
+		int length = n;
+		// the matching elements are ascending, like the elements tested by removeIf
+		return write(() -> super.removeIf(new Predicate<E>() {
+			private int j = 0;
+
+			@Override
+			public boolean test(E e) {
+				while (j < length && compare(elementOf(matching[j]), e) < 0) {
+					j++;
+				}
+				if (j == length || compare(elementOf(matching[j]), e) != 0) return false;
+				j++;
+				return true;
+			}
+		}));
+	}
+
+	@Override
+	public void clear() {
+		write(() -> {
+			super.clear();
+			return null;
+		});
+	}
+
+	@Override
+	public void setGapBuffer(boolean gapBuffer) {
+		write(() -> {
+			super.setGapBuffer(gapBuffer);
+			return null;
+		});
+	}
+
+	/**
+	 * Not supported: optimistic reads must not compact the array.
+	 * 
+	 * @throws UnsupportedOperationException
+	 *           if lazyRemoval is true
+	 */
+	@Override
+	public void setLazyRemoval(boolean lazyRemoval) {
+		if (lazyRemoval) throw new UnsupportedOperationException("Lazy removal is not supported");
+	}
+
+	@Override
+	public void ensureCapacity(int minCapacity) {
+		write(() -> {
+			super.ensureCapacity(minCapacity);
+			return null;
+		});
+	}
+
+	@Override
+	public void trimToSize() {
+		write(() -> {
+			super.trimToSize();
+			return null;
+		});
+	}
+
+	/** Writes a snapshot of a copy taken under the read lock. */
+	@Override
+	public void writeTo(OutputStream out, ElementCodec<? super E> codec) throws IOException {
+		@SuppressWarnings("unchecked")
+		E[] elements = (E[])toArray();
+		Snapshot.write(out, Snapshot.SORTED_BAG, elements, elements.length, null, codec);
+	}
+
+	@Override
+	public boolean contains(Object o) {
+		return read(() -> super.contains(o));
+	}
+
+	@Override
+	public int size() {
+		return read(super::size);
+	}
+
+	@Override
+	public Object[] toArray() {
+		return read(super::toArray);
+	}
+
+	@Override
+	public int rank(E e) {
+		return read(() -> super.rank(e));
+	}
+
+	@Override
+	public E select(int k) {
+		return read(() -> super.select(k));
+	}
+
+	@Override
+	public E floor(E e) {
+		return read(() -> super.floor(e));
+	}
+
+	@Override
+	public E ceiling(E e) {
+		return read(() -> super.ceiling(e));
+	}
+
+	@Override
+	public int firstIndexOf(Object o) {
+		return read(() -> super.firstIndexOf(o));
+	}
+
+	@Override
+	public int lastIndexOf(Object o) {
+		return read(() -> super.lastIndexOf(o));
+	}
+
+	@Override
+	public int countInRange(E lo, E hi) {
+		return read(() -> super.countInRange(lo, hi));
+	}
+
+	/** Returns a copy of the elements in [lo, hi). */
+	@Override
+	public Collection<E> subBag(E lo, E hi) {
+		return read(() -> snapshot(super.subBag(lo, hi).toArray()));
+	}
+
+	@SuppressWarnings("unchecked")
+	private E elementOf(Object o) {
+		return (E)o;
+	}
+
+	@SuppressWarnings("unchecked")
+	private List<E> snapshot(Object[] elements) {
+		return Collections.unmodifiableList((List<E>)(List<?>)Arrays.asList(elements));
+	}
+
+	/** Iterates a snapshot; remove deletes one element equal to the last returned one. */
+	@Override
+	public Iterator<E> iterator() {
+		Iterator<E> snapshot = snapshot(toArray()).iterator();
+		return new Iterator<E>() {
+			private E last;
+
+			@Override
+			public boolean hasNext() {
+				return snapshot.hasNext();
+			}
+
+			@Override
+			public E next() {
+				return last = snapshot.next();
+			}
+
+			@Override
+			public void remove() {
+				if (last == null) throw new IllegalStateException();
+				ConcurrentSortedBag.this.remove(last);
+				last = null;
+			}
+		};
+	}
+
+	@Override
+	public Spliterator<E> spliterator() {
+		return snapshot(toArray()).spliterator();
+	}
+
+	/** Passes the elements of a snapshot to action, which may therefore use this bag. */
+	@Override
+	public void forEach(Consumer<? super E> action) {
+		Objects.requireNonNull(action);
+		snapshot(toArray()).forEach(action);
+	}
+}
@@ -0,0 +1,98 @@
+package ch.fhnw.algd2.arraycollections;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Encodes the elements of the binary snapshots written by writeTo and read by
+ * readFrom of the array collections. Numeric codecs map the elements to long
+ * values; snapshots store these as zig-zag encoded variable length differences
+ * of consecutive elements, so that sorted numeric contents typically need one
+ * or two bytes per element.
+ */
+public interface ElementCodec<E> {
+	void write(DataOutput out, E e) throws IOException;
+
+	E read(DataInput in) throws IOException;
+
+	/** Returns true if elements are stored by toLong and restored by fromLong. */
+	default boolean isNumeric() {
+		return false;
+	}
+
+	default long toLong(E e) {
+		throw new UnsupportedOperationException("Codec is not numeric");
+	}
+
+	default E fromLong(long value) {
+		throw new UnsupportedOperationException("Codec is not numeric");
+	}
+
+	ElementCodec<Integer> INTEGER = new ElementCodec<Integer>() {
+		@Override
+		public void write(DataOutput out, Integer e) throws IOException {
+			out.writeInt(e);
+		}
+
+		@Override
+		public Integer read(DataInput in) throws IOException {
+			return in.readInt();
+		}
+
+		@Override
+		public boolean isNumeric() {
+			return true;
+		}
+
+		@Override
+		public long toLong(Integer e) {
+			return e;
+		}
+
+		@Override
+		public Integer fromLong(long value) {
+			return (int)value;
+		}
+	};
+
+	ElementCodec<Long> LONG = new ElementCodec<Long>() {
+		@Override
+		public void write(DataOutput out, Long e) throws IOException {
+			out.writeLong(e);
+		}
+
+		@Override
+		public Long read(DataInput in) throws IOException {
+			return in.readLong();
+		}
+
+		@Override
+		public boolean isNumeric() {
+			return true;
+		}
+
+		@Override
+		public long toLong(Long e) {
+			return e;
+		}
+
+		@Override
+		public Long fromLong(long value) {
+			return value;
+		}
+	};
+
+	/** Stores strings in modified UTF-8, see {@link DataOutput#writeUTF(String)}. */
+	ElementCodec<String> STRING = new ElementCodec<String>() {
+		@Override
+		public void write(DataOutput out, String e) throws IOException {
+			out.writeUTF(e);
+		}
+
+		@Override
+		public String read(DataInput in) throws IOException {
+			return in.readUTF();
+		}
+	};
+}
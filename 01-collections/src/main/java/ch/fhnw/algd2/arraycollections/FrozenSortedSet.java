@@ -0,0 +1,217 @@
+package ch.fhnw.algd2.arraycollections;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+/**
+ * Immutable sorted set for read-mostly workloads. The elements are stored in
+ * Eytzinger (breadth first) order: the children of the element at index k are
+ * stored at 2k and 2k+1. The first levels of the implicit search tree are
+ * therefore packed at the start of the array and stay in the cache, and the
+ * search loop has no data dependent exit, unlike Arrays.binarySearch.
+ */
+public class FrozenSortedSet<E> extends AbstractArrayCollection<E> implements Set<E> {
+	private final E[] data; // 1-based, data[0] is unused
+	private final int size;
+	private final Comparator<? super E> comparator; // null for the natural order
+
+	public FrozenSortedSet(Collection<? extends E> c) {
+		this(c, null);
+	}
+
+	/** Creates a set ordered by comparator, or by the natural order if it is null. */
+	@SuppressWarnings("unchecked")
+	public FrozenSortedSet(Collection<? extends E> c, Comparator<? super E> comparator) {
+		this.comparator = comparator;
+		E[] sorted = (E[])c.toArray();
+		for (Object o : sorted) {
+			checkNull(o);
+		}
+		Arrays.sort(sorted, comparator);
+		int n = 0;
+		for (int i = 0; i < sorted.length; i++) {
+			if (n == 0 || compare(sorted[i], sorted[n - 1]) != 0) sorted[n++] = sorted[i];
+		}
+		size = n;
+		data = (E[])new Object[n + 1];
+		fill(sorted, 0, 1);
+	}
+
+	@SuppressWarnings("unchecked")
+	private int compare(E a, E b) {
+		countComparisons(1);
+		return comparator == null ? ((Comparable<? super E>)a).compareTo(b) : comparator.compare(a, b);
+	}
+
+	@Override
+	public Comparator<? super E> comparator() {
+		return comparator;
+	}
+
+	/** Stores sorted[i..] in the subtree rooted at k and returns the next index of sorted. */
+	@SuppressWarnings("unchecked")
+	private int fill(Object[] sorted, int i, int k) {
+		if (k <= size) {
+			i = fill(sorted, i, 2 * k);
+			data[k] = (E)sorted[i++];
+			i = fill(sorted, i, 2 * k + 1);
+		}
+		return i;
+	}
+
+	/** Copies the subtree rooted at k in sorted order to result[i..] and returns the next index of result. */
+	private int collect(Object[] result, int i, int k) {
+		if (k <= size) {
+			i = collect(result, i, 2 * k);
+			result[i++] = data[k];
+			i = collect(result, i, 2 * k + 1);
+		}
+		return i;
+	}
+
+	/**
+	 * Returns the index in data of the smallest element not smaller than o, or 0
+	 * if there is none.
+	 */
+	private int lowerBound(Object o) {
+		checkNull(o);
+		@SuppressWarnings("unchecked")
+		E e = (E)o;
+		int k = 1;
+		while (k <= size) {
+			k = 2 * k + (compare(data[k], e) < 0 ? 1 : 0);
+		}
+		// the right turns taken after the last left turn are encoded as trailing ones
+		return k >> (Integer.numberOfTrailingZeros(~k) + 1);
+	}
+
+	@Override
+	public boolean add(E e) {
+		throw new UnsupportedOperationException("Frozen set is immutable");
+	}
+
+	@Override
+	public boolean remove(Object o) {
+		throw new UnsupportedOperationException("Frozen set is immutable");
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public boolean contains(Object o) {
+		int k = lowerBound(o);
+		return k != 0 && compare(data[k], (E)o) == 0;
+	}
+
+	/** Returns the number of elements in the subtree rooted at k. */
+	private int subtreeSize(int k) {
+		int count = 0;
+		for (long lo = k, hi = k; lo <= size; lo = 2 * lo, hi = 2 * hi + 1) {
+			count += (int)(Math.min(hi, size) - lo + 1);
+		}
+		return count;
+	}
+
+	/** Returns the index of the smallest element in the subtree rooted at k, or 0 if it is empty. */
+	private int leftmost(int k) {
+		if (k > size) return 0;
+		while (2L * k <= size) {
+			k = 2 * k;
+		}
+		return k;
+	}
+
+	@Override
+	protected E elementAt(int index) {
+		int k = 1;
+		while (true) {
+			int left = subtreeSize(2 * k);
+			if (index == left) return data[k];
+			if (index < left) {
+				k = 2 * k;
+			} else {
+				index -= left + 1;
+				k = 2 * k + 1;
+			}
+		}
+	}
+
+	@Override
+	protected void removeAt(int index) {
+		throw new UnsupportedOperationException("Frozen set is immutable");
+	}
+
+	@Override
+	protected int characteristics() {
+		return super.characteristics() | Spliterator.ORDERED | Spliterator.SORTED | Spliterator.DISTINCT
+				| Spliterator.IMMUTABLE;
+	}
+
+	/** Visits the implicit search tree in order. */
+	@Override
+	public Iterator<E> iterator() {
+		return new Iterator<E>() {
+			private int next = leftmost(1);
+
+			@Override
+			public boolean hasNext() {
+				return next != 0;
+			}
+
+			@Override
+			public E next() {
+				if (next == 0) throw new NoSuchElementException();
+				int k = next;
+				if (2L * k + 1 <= size) {
+					next = leftmost(2 * k + 1);
+				} else {
+					// ascend while coming from a right child
+					while ((next & 1) == 1) {
+						next >>= 1;
+					}
+					next >>= 1;
+				}
+				return data[k];
+			}
+		};
+	}
+
+	@Override
+	public void forEach(Consumer<? super E> action) {
+		iterator().forEachRemaining(action);
+	}
+
+	@Override
+	public Spliterator<E> spliterator() {
+		return Spliterators.spliterator(iterator(), size, characteristics());
+	}
+
+	@Override
+	public Object[] toArray() {
+		countArrayCopy();
+		Object[] result = new Object[size];
+		collect(result, 0, 1);
+		return result;
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	protected int capacity() {
+		return size;
+	}
+
+	@Override
+	protected void resize(int newCapacity) {
+		throw new UnsupportedOperationException("Frozen set is immutable");
+	}
+}
@@ -0,0 +1,67 @@
+package ch.fhnw.algd2.arraycollections;
+
+/**
+ * Describes how an array collection enlarges its backing array once it is
+ * full. The new capacity is the old capacity multiplied by a constant factor
+ * (at least the required capacity), capped by a maximal capacity. A factor of
+ * 1 means that the array never grows.
+ */
+public final class GrowthPolicy {
+	/** Largest array size the VM reliably allocates. */
+	public static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+
+	/** Never grows: adding to a full collection throws an IllegalStateException. */
+	public static final GrowthPolicy FIXED = new GrowthPolicy(1.0, MAX_ARRAY_SIZE);
+
+	/** Grows by 50%, like java.util.ArrayList. */
+	public static final GrowthPolicy DEFAULT = new GrowthPolicy(1.5, MAX_ARRAY_SIZE);
+
+	private final double factor;
+	private final int maxCapacity;
+
+	private GrowthPolicy(double factor, int maxCapacity) {
+		this.factor = factor;
+		this.maxCapacity = maxCapacity;
+	}
+
+	public static GrowthPolicy of(double factor) {
+		return of(factor, MAX_ARRAY_SIZE);
+	}
+
+	public static GrowthPolicy of(double factor, int maxCapacity) {
+		if (!(factor >= 1.0)) throw new IllegalArgumentException("Growth factor must be at least 1: " + factor);
+		if (maxCapacity < 0 || maxCapacity > MAX_ARRAY_SIZE)
+			throw new IllegalArgumentException("Illegal maximal capacity: " + maxCapacity);
+		return new GrowthPolicy(factor, maxCapacity);
+	}
+
+	public double getFactor() {
+		return factor;
+	}
+
+	public int getMaxCapacity() {
+		return maxCapacity;
+	}
+
+	public boolean isFixed() {
+		return factor == 1.0;
+	}
+
+	/**
+	 * Computes the capacity an array of currentCapacity elements has to grow to
+	 * in order to hold at least minCapacity elements.
+	 * 
+	 * @throws IllegalStateException
+	 *           if the policy does not allow to grow that far
+	 */
+	int newCapacity(int currentCapacity, int minCapacity) {
+		if (isFixed() || minCapacity > maxCapacity || minCapacity < 0) throw new IllegalStateException("Array is full");
+		long grown = (long)Math.ceil(currentCapacity * factor);
+		return (int)Math.max(minCapacity, Math.min(grown, maxCapacity));
+	}
+
+	@Override
+	public String toString() {
+		return "GrowthPolicy[factor=" + factor + ", maxCapacity=" + maxCapacity + "]";
+	}
+}
@@ -0,0 +1,49 @@
+package ch.fhnw.algd2.arraycollections;
+
+import java.util.Arrays;
+
+/**
+ * int specialization of {@link SortedBag}.
+ */
+public class IntSortedBag extends AbstractIntArrayCollection {
+	public static final int DEFAULT_CAPACITY = 100;
+
+	public IntSortedBag() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	public IntSortedBag(int capacity) {
+		this(capacity, GrowthPolicy.FIXED);
+	}
+
+	public IntSortedBag(int capacity, GrowthPolicy growthPolicy) {
+		super(capacity, growthPolicy);
+	}
+
+	@Override
+	public boolean add(int e) {
+		int index = Arrays.binarySearch(data, 0, size, e);
+		if (index < 0) index = -index - 1;
+		grow(size + 1);
+
+		System.arraycopy(data, index, data, index + 1, size - index);
+		data[index] = e;
+		size++;
+		return true;
+	}
+
+	@Override
+	public boolean remove(int e) {
+		int index = Arrays.binarySearch(data, 0, size, e);
+		if (index < 0) return false;
+
+		System.arraycopy(data, index + 1, data, index, size - 1 - index);
+		size--;
+		return true;
+	}
+
+	@Override
+	public boolean contains(int e) {
+		return Arrays.binarySearch(data, 0, size, e) >= 0;
+	}
+}
@@ -0,0 +1,49 @@
+package ch.fhnw.algd2.arraycollections;
+
+/**
+ * int specialization of {@link UnsortedBag}.
+ */
+public class IntUnsortedBag extends AbstractIntArrayCollection {
+	public static final int DEFAULT_CAPACITY = 100;
+
+	public IntUnsortedBag() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	public IntUnsortedBag(int capacity) {
+		this(capacity, GrowthPolicy.FIXED);
+	}
+
+	public IntUnsortedBag(int capacity, GrowthPolicy growthPolicy) {
+		super(capacity, growthPolicy);
+	}
+
+	private int indexOf(int e) {
+		int index = 0;
+		while (index < size && data[index] != e) {
+			index++;
+		}
+		return index < size ? index : -1;
+	}
+
+	@Override
+	public boolean add(int e) {
+		grow(size + 1);
+		data[size++] = e;
+		return true;
+	}
+
+	@Override
+	public boolean remove(int e) {
+		int index = indexOf(e);
+		if (index < 0) return false;
+
+		data[index] = data[--size];
+		return true;
+	}
+
+	@Override
+	public boolean contains(int e) {
+		return indexOf(e) >= 0;
+	}
+}
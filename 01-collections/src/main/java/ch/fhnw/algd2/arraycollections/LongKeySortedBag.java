@@ -0,0 +1,214 @@
+package ch.fhnw.algd2.arraycollections;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+
+/**
+ * Sorted bag ordered by a long key extracted from the elements, e.g. a
+ * timestamp. The keys are extracted once on insertion and stored in a parallel
+ * long array, so that searches compare primitive longs instead of calling a
+ * comparator or compareTo. Elements with equal keys keep their insertion order.
+ * <p>
+ * Unlike SortedBag, contains, remove, firstIndexOf and lastIndexOf look for an
+ * element which is equal to the argument, not only one with an equal key. The
+ * order queries rank, floor, ceiling, countInRange and range only compare keys,
+ * so elements with the same key as the argument count as equal to it there.
+ */
+public class LongKeySortedBag<E> extends AbstractSortedArrayCollection<E> {
+	public static final int DEFAULT_CAPACITY = 100;
+	private final ToLongFunction<? super E> key;
+	private E[] data;
+	private long[] keys; // keys[i] is the key of data[i]
+	private int size = 0;
+
+	public LongKeySortedBag(ToLongFunction<? super E> key) {
+		this(DEFAULT_CAPACITY, key);
+	}
+
+	public LongKeySortedBag(int capacity, ToLongFunction<? super E> key) {
+		this(capacity, GrowthPolicy.FIXED, key);
+	}
+
+	@SuppressWarnings("unchecked")
+	public LongKeySortedBag(int capacity, GrowthPolicy growthPolicy, ToLongFunction<? super E> key) {
+		super(growthPolicy, Comparator.comparingLong(key));
+		this.key = key;
+		data = (E[])new Object[capacity];
+		keys = new long[capacity];
+	}
+
+	/** Returns the position of the first element with a key not smaller than k. */
+	private int lowerBound(long k) {
+		int lo = 0, hi = size;
+		while (lo < hi) {
+			int mid = (lo + hi) >>> 1;
+			if (keys[mid] < k) lo = mid + 1;
+			else hi = mid;
+		}
+		return lo;
+	}
+
+	/** Returns the position of the first element with a key greater than k. */
+	private int upperBound(long k) {
+		int lo = 0, hi = size;
+		while (lo < hi) {
+			int mid = (lo + hi) >>> 1;
+			if (keys[mid] <= k) lo = mid + 1;
+			else hi = mid;
+		}
+		return lo;
+	}
+
+	@SuppressWarnings("unchecked")
+	private long keyOf(Object o) {
+		checkNull(o);
+		return key.applyAsLong((E)o);
+	}
+
+	private int indexOf(Object o) {
+		long k = keyOf(o);
+		for (int i = lowerBound(k); i < size && keys[i] == k; i++) {
+			countEquals(1);
+			if (data[i].equals(o)) return i;
+		}
+		return -1;
+	}
+
+	/** Returns the position of the first element equal to o, or -1; an equal key is not enough. */
+	@Override
+	public int firstIndexOf(Object o) {
+		return indexOf(o);
+	}
+
+	/** Returns the position of the last element equal to o, or -1; an equal key is not enough. */
+	@Override
+	public int lastIndexOf(Object o) {
+		long k = keyOf(o);
+		for (int i = upperBound(k) - 1; i >= 0 && keys[i] == k; i--) {
+			countEquals(1);
+			if (data[i].equals(o)) return i;
+		}
+		return -1;
+	}
+
+	/** Returns the key of the element at position index in sorted order. */
+	public long keyAt(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("Index " + index + " is out of bounds for length " + size + ".");
+		}
+		return keys[index];
+	}
+
+	/** Returns the number of elements with a key smaller than k. */
+	public int rank(long k) {
+		return lowerBound(k);
+	}
+
+	/** Returns the number of elements with a key in [lo, hi). */
+	public int countInRange(long lo, long hi) {
+		return Math.max(0, lowerBound(hi) - lowerBound(lo));
+	}
+
+	@Override
+	public boolean add(E e) {
+		checkNull(e);
+		long k = key.applyAsLong(e);
+		int index = upperBound(k);
+		grow(size + 1);
+
+		countMoves(size - index);
+		System.arraycopy(data, index, data, index + 1, size - index);
+		System.arraycopy(keys, index, keys, index + 1, size - index);
+		data[index] = e;
+		keys[index] = k;
+		size++;
+		modCount++;
+		return true;
+	}
+
+	@Override
+	public boolean remove(Object o) {
+		int index = indexOf(o);
+		if (index < 0) return false;
+
+		removeAt(index);
+		return true;
+	}
+
+	/** Removes the matching elements and their keys in a single pass. */
+	@Override
+	public boolean removeIf(Predicate<? super E> filter) {
+		long[] marks = matching(data, size, filter);
+		if (marks == null) return false;
+
+		int w = 0;
+		for (int i = 0; i < size; i++) {
+			if (!isMarked(marks, i)) keys[w++] = keys[i];
+		}
+		size = removeMarked(data, size, marks);
+		modCount++;
+		return true;
+	}
+
+	/** Removes all elements equal to an element of c; elements with equal keys are not enough. */
+	@Override
+	public boolean removeAll(Collection<?> c) {
+		return removeIf(c::contains);
+	}
+
+	@Override
+	public boolean retainAll(Collection<?> c) {
+		return removeIf(e -> !c.contains(e));
+	}
+
+	@Override
+	protected void removeAt(int index) {
+		countMoves(size - 1 - index);
+		System.arraycopy(data, index + 1, data, index, size - 1 - index);
+		System.arraycopy(keys, index + 1, keys, index, size - 1 - index);
+		data[--size] = null;
+		modCount++;
+	}
+
+	@Override
+	protected E elementAt(int index) {
+		return data[index];
+	}
+
+	@Override
+	public void clear() {
+		Arrays.fill(data, 0, size, null);
+		size = 0;
+		modCount++;
+	}
+
+	@Override
+	public boolean contains(Object o) {
+		return indexOf(o) >= 0;
+	}
+
+	@Override
+	public Object[] toArray() {
+		countArrayCopy();
+		return Arrays.copyOf(data, size);
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	protected int capacity() {
+		return data.length;
+	}
+
+	@Override
+	protected void resize(int newCapacity) {
+		data = Arrays.copyOf(data, newCapacity);
+		keys = Arrays.copyOf(keys, newCapacity);
+	}
+}
@@ -0,0 +1,49 @@
+package ch.fhnw.algd2.arraycollections;
+
+import java.util.Arrays;
+
+/**
+ * long specialization of {@link SortedBag}.
+ */
+public class LongSortedBag extends AbstractLongArrayCollection {
+	public static final int DEFAULT_CAPACITY = 100;
+
+	public LongSortedBag() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	public LongSortedBag(int capacity) {
+		this(capacity, GrowthPolicy.FIXED);
+	}
+
+	public LongSortedBag(int capacity, GrowthPolicy growthPolicy) {
+		super(capacity, growthPolicy);
+	}
+
+	@Override
+	public boolean add(long e) {
+		int index = Arrays.binarySearch(data, 0, size, e);
+		if (index < 0) index = -index - 1;
+		grow(size + 1);
+
+		System.arraycopy(data, index, data, index + 1, size - index);
+		data[index] = e;
+		size++;
+		return true;
+	}
+
+	@Override
+	public boolean remove(long e) {
+		int index = Arrays.binarySearch(data, 0, size, e);
+		if (index < 0) return false;
+
+		System.arraycopy(data, index + 1, data, index, size - 1 - index);
+		size--;
+		return true;
+	}
+
+	@Override
+	public boolean contains(long e) {
+		return Arrays.binarySearch(data, 0, size, e) >= 0;
+	}
+}
@@ -0,0 +1,50 @@
+package ch.fhnw.algd2.arraycollections;
+
+import java.util.Arrays;
+
+/**
+ * long specialization of {@link SortedSet}.
+ */
+public class LongSortedSet extends AbstractLongArrayCollection {
+	public static final int DEFAULT_CAPACITY = 100;
+
+	public LongSortedSet() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	public LongSortedSet(int capacity) {
+		this(capacity, GrowthPolicy.FIXED);
+	}
+
+	public LongSortedSet(int capacity, GrowthPolicy growthPolicy) {
+		super(capacity, growthPolicy);
+	}
+
+	@Override
+	public boolean add(long e) {
+		int index = Arrays.binarySearch(data, 0, size, e);
+		if (index >= 0) return false;
+		index = -index - 1;
+		grow(size + 1);
+
+		System.arraycopy(data, index, data, index + 1, size - index);
+		data[index] = e;
+		size++;
+		return true;
+	}
+
+	@Override
+	public boolean remove(long e) {
+		int index = Arrays.binarySearch(data, 0, size, e);
+		if (index < 0) return false;
+
+		System.arraycopy(data, index + 1, data, index, size - 1 - index);
+		size--;
+		return true;
+	}
+
+	@Override
+	public boolean contains(long e) {
+		return Arrays.binarySearch(data, 0, size, e) >= 0;
+	}
+}
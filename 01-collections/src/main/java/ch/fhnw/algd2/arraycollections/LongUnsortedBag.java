@@ -0,0 +1,49 @@
+package ch.fhnw.algd2.arraycollections;
+
+/**
+ * long specialization of {@link UnsortedBag}.
+ */
+public class LongUnsortedBag extends AbstractLongArrayCollection {
+	public static final int DEFAULT_CAPACITY = 100;
+
+	public LongUnsortedBag() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	public LongUnsortedBag(int capacity) {
+		this(capacity, GrowthPolicy.FIXED);
+	}
+
+	public LongUnsortedBag(int capacity, GrowthPolicy growthPolicy) {
+		super(capacity, growthPolicy);
+	}
+
+	private int indexOf(long e) {
+		int index = 0;
+		while (index < size && data[index] != e) {
+			index++;
+		}
+		return index < size ? index : -1;
+	}
+
+	@Override
+	public boolean add(long e) {
+		grow(size + 1);
+		data[size++] = e;
+		return true;
+	}
+
+	@Override
+	public boolean remove(long e) {
+		int index = indexOf(e);
+		if (index < 0) return false;
+
+		data[index] = data[--size];
+		return true;
+	}
+
+	@Override
+	public boolean contains(long e) {
+		return indexOf(e) >= 0;
+	}
+}
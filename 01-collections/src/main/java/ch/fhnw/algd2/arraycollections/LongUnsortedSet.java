@@ -0,0 +1,113 @@
+package ch.fhnw.algd2.arraycollections;
+
+import java.util.Arrays;
+
+/**
+ * long specialization of {@link UnsortedSet}. Like UnsortedSet, it keeps an open
+ * addressing hash table (linear probing) from the values to their positions in
+ * the array, so that contains, add and remove do not have to scan the array.
+ */
+public class LongUnsortedSet extends AbstractLongArrayCollection {
+	public static final int DEFAULT_CAPACITY = 100;
+	private int[] index; // positions in data plus one, 0 marks a free slot
+
+	public LongUnsortedSet() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	public LongUnsortedSet(int capacity) {
+		this(capacity, GrowthPolicy.FIXED);
+	}
+
+	public LongUnsortedSet(int capacity, GrowthPolicy growthPolicy) {
+		super(capacity, growthPolicy);
+		buildIndex();
+	}
+
+	private static int hash(long e) {
+		int h = Long.hashCode(e);
+		return h ^ (h >>> 16);
+	}
+
+	/** Rebuilds the hash table with at least twice as many slots as data. */
+	private void buildIndex() {
+		int length = 2;
+		while (length < 2L * data.length && length < (1 << 30)) {
+			length <<= 1;
+		}
+		index = new int[length];
+		for (int pos = 0; pos < size; pos++) {
+			index[-slotOf(data[pos]) - 1] = pos + 1;
+		}
+	}
+
+	/**
+	 * Returns the slot of the hash table referring to e, or (-(free slot) - 1) if
+	 * there is none.
+	 */
+	private int slotOf(long e) {
+		int mask = index.length - 1;
+		int slot = hash(e) & mask;
+		while (index[slot] != 0) {
+			if (data[index[slot] - 1] == e) return slot;
+			slot = (slot + 1) & mask;
+		}
+		return -slot - 1;
+	}
+
+	/**
+	 * Frees a slot of the hash table. Following entries of the same probe
+	 * sequence are shifted back, so that no tombstones are needed.
+	 */
+	private void freeSlot(int slot) {
+		int mask = index.length - 1;
+		int free = slot;
+		for (int i = (slot + 1) & mask; index[i] != 0; i = (i + 1) & mask) {
+			int home = hash(data[index[i] - 1]) & mask;
+			if (((i - home) & mask) >= ((i - free) & mask)) {
+				index[free] = index[i];
+				free = i;
+			}
+		}
+		index[free] = 0;
+	}
+
+	@Override
+	public boolean add(long e) {
+		int slot = slotOf(e);
+		if (slot >= 0) return false;
+		if (size == data.length) {
+			grow(size + 1);
+			slot = slotOf(e);
+		}
+		data[size++] = e;
+		index[-slot - 1] = size;
+		return true;
+	}
+
+	/** Removes e and moves the last element to its position. */
+	@Override
+	public boolean remove(long e) {
+		int slot = slotOf(e);
+		if (slot < 0) return false;
+
+		int pos = index[slot] - 1;
+		freeSlot(slot);
+		if (pos < --size) {
+			index[slotOf(data[size])] = pos + 1;
+			data[pos] = data[size];
+		}
+		return true;
+	}
+
+	@Override
+	public boolean contains(long e) {
+		return slotOf(e) >= 0;
+	}
+
+	@Override
+	protected void resize(int newCapacity) {
+		data = Arrays.copyOf(data, newCapacity);
+		buildIndex();
+	}
+}
@@ -0,0 +1,317 @@
+package ch.fhnw.algd2.arraycollections;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Sorted set of long values stored off the heap in a memory-mapped file. The
+ * file holds a small header followed by the sorted values, so a set can be
+ * reopened after a restart without reading or rebuilding anything, and
+ * contains searches the mapped memory directly. Since a single buffer is
+ * limited to 2 GiB, the values are mapped in segments of 2^27 values.
+ * <p>
+ * Changes are written to the mapping; they reach the disk when the operating
+ * system writes the pages back, at the latest on flush or close. Like in
+ * {@link LongSortedSet}, add and remove shift the following values; addAll
+ * inserts a whole batch with a single merge.
+ */
+public class MappedLongSortedSet implements Closeable {
+	public static final int DEFAULT_CAPACITY = 1024;
+	private static final int MAGIC = 0x4C4E4753; // "LNGS"
+	private static final int VERSION = 1;
+	private static final int HEADER_BYTES = 16; // magic, version, size
+	private static final int DEFAULT_SEGMENT_SHIFT = 27;
+
+	private final FileChannel channel;
+	private final GrowthPolicy growthPolicy;
+	private final MappedByteBuffer header;
+	private final int segmentShift, segmentMask;
+	private MappedByteBuffer[] mappings = new MappedByteBuffer[0];
+	private LongBuffer[] segments = new LongBuffer[0];
+	private int capacity = 0;
+	private int size;
+
+	private MappedLongSortedSet(FileChannel channel, GrowthPolicy growthPolicy, int segmentShift) throws IOException {
+		this.channel = channel;
+		this.growthPolicy = growthPolicy;
+		this.segmentShift = segmentShift;
+		segmentMask = (1 << segmentShift) - 1;
+
+		long length = channel.size();
+		if (length > 0) checkHeader(channel, length);
+		header = channel.map(MapMode.READ_WRITE, 0, HEADER_BYTES);
+		header.order(ByteOrder.LITTLE_ENDIAN);
+		if (length == 0) {
+			header.putInt(0, MAGIC);
+			header.putInt(4, VERSION);
+			header.putLong(8, 0);
+			map(DEFAULT_CAPACITY);
+		} else {
+			map((int)Math.min((length - HEADER_BYTES) / Long.BYTES, Integer.MAX_VALUE));
+		}
+		long size = header.getLong(8);
+		if (size < 0 || size > capacity) throw new IOException("Corrupt long set file, size " + size);
+		this.size = (int)size;
+	}
+
+	/**
+	 * Checks magic and version with a plain read. Mapping a file read-write
+	 * extends it, so a foreign file must be rejected before anything is mapped.
+	 */
+	private static void checkHeader(FileChannel channel, long length) throws IOException {
+		if (length < HEADER_BYTES) throw new IOException("Not a long set file");
+		ByteBuffer buffer = ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN);
+		while (buffer.hasRemaining()) {
+			if (channel.read(buffer, buffer.position()) < 0) throw new EOFException();
+		}
+		if (buffer.getInt(0) != MAGIC) throw new IOException("Not a long set file");
+		if (buffer.getInt(4) != VERSION) throw new IOException("Unsupported version " + buffer.getInt(4));
+	}
+
+	/**
+	 * Opens the set stored in file, or creates an empty set if the file does not
+	 * exist or is empty. The file grows by the default growth policy.
+	 */
+	public static MappedLongSortedSet open(Path file) throws IOException {
+		return open(file, GrowthPolicy.DEFAULT);
+	}
+
+	public static MappedLongSortedSet open(Path file, GrowthPolicy growthPolicy) throws IOException {
+		return open(file, growthPolicy, DEFAULT_SEGMENT_SHIFT);
+	}
+
+	/** Opens a set mapped in segments of 2^segmentShift values; small segments are for tests. */
+	static MappedLongSortedSet open(Path file, GrowthPolicy growthPolicy, int segmentShift) throws IOException {
+		Objects.requireNonNull(growthPolicy, "Growth policy must not be null");
+		FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE,
+				StandardOpenOption.CREATE);
+		try {
+			return new MappedLongSortedSet(channel, growthPolicy, segmentShift);
+		}
+		catch (IOException | RuntimeException e) {
+			channel.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Maps newCapacity values. Full segments stay mapped, the file is extended
+	 * by mapping beyond its end.
+	 */
+	private void map(int newCapacity) throws IOException {
+		int count = (int)(((long)newCapacity + segmentMask) >>> segmentShift);
+		MappedByteBuffer[] newMappings = Arrays.copyOf(mappings, count);
+		LongBuffer[] newSegments = Arrays.copyOf(segments, count);
+		for (int k = 0; k < count; k++) {
+			long first = (long)k << segmentShift;
+			int length = (int)Math.min(segmentMask + 1L, newCapacity - first);
+			if (newSegments[k] != null && newSegments[k].capacity() == length) continue;
+			newMappings[k] = channel.map(MapMode.READ_WRITE, HEADER_BYTES + first * Long.BYTES, (long)length * Long.BYTES);
+			newMappings[k].order(ByteOrder.LITTLE_ENDIAN);
+			newSegments[k] = newMappings[k].asLongBuffer();
+		}
+		mappings = newMappings;
+		segments = newSegments;
+		capacity = newCapacity;
+	}
+
+	/** See {@link AbstractArrayCollection#grow(int)}. */
+	private void grow(int minCapacity) {
+		if (minCapacity <= capacity) return;
+		try {
+			map(growthPolicy.newCapacity(capacity, minCapacity));
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private long valueAt(int index) {
+		return segments[index >>> segmentShift].get(index & segmentMask);
+	}
+
+	private void setValueAt(int index, long value) {
+		segments[index >>> segmentShift].put(index & segmentMask, value);
+	}
+
+	/**
+	 * Moves the values in [from, to) of segment k by distance positions within
+	 * the segment; the bulk put copies as if through an intermediate buffer, so
+	 * the ranges may overlap.
+	 */
+	private void move(int k, int from, int to, int distance) {
+		LongBuffer source = segments[k].duplicate();
+		source.limit(to).position(from);
+		LongBuffer target = segments[k].duplicate();
+		target.position(from + distance);
+		target.put(source);
+	}
+
+	/**
+	 * Shifts the values in [from, to) one position to the right, see
+	 * {@link System#arraycopy}. Each segment is moved in bulk, starting with the
+	 * last one; the last value of a segment is carried over to the first
+	 * position of the next one, which has already been freed.
+	 */
+	private void shiftRight(int from, int to) {
+		for (int k = (to - 1) >> segmentShift; from < to && k >= from >>> segmentShift; k--) {
+			int base = k << segmentShift;
+			int lo = Math.max(from, base) - base, hi = Math.min(to, base + segments[k].capacity()) - base;
+			if (hi == segments[k].capacity()) {
+				segments[k + 1].put(0, segments[k].get(--hi));
+			}
+			move(k, lo, hi, 1);
+		}
+	}
+
+	/**
+	 * Shifts the values in [from, to) one position to the left, see shiftRight.
+	 * The segments are moved starting with the first one; the first value of a
+	 * segment is carried over to the last position of the previous one.
+	 */
+	private void shiftLeft(int from, int to) {
+		for (int k = from >>> segmentShift; from < to && k <= (to - 1) >>> segmentShift; k++) {
+			int base = k << segmentShift;
+			int lo = Math.max(from, base) - base, hi = Math.min(to, base + segments[k].capacity()) - base;
+			if (lo == 0) {
+				segments[k - 1].put(segments[k - 1].capacity() - 1, segments[k].get(lo++));
+			}
+			move(k, lo, hi, -1);
+		}
+	}
+
+	private void setSize(int size) {
+		this.size = size;
+		header.putLong(8, size);
+	}
+
+	/** Binary search on the mapped values, see {@link Arrays#binarySearch(long[], long)}. */
+	private int indexOf(long e) {
+		int lo = 0, hi = size - 1;
+		while (lo <= hi) {
+			int mid = (lo + hi) >>> 1;
+			long value = valueAt(mid);
+			if (value < e) lo = mid + 1;
+			else if (value > e) hi = mid - 1;
+			else return mid;
+		}
+		return -(lo + 1);
+	}
+
+	public boolean add(long e) {
+		int index = indexOf(e);
+		if (index >= 0) return false;
+		index = -index - 1;
+		grow(size + 1);
+
+		shiftRight(index, size);
+		setValueAt(index, e);
+		setSize(size + 1);
+		return true;
+	}
+
+	/**
+	 * Adds all values with a single merge from the end, see
+	 * {@link SortedSet#addAll(java.util.Collection)}.
+	 */
+	public boolean addAll(long... values) {
+		long[] batch = values.clone();
+		Arrays.sort(batch);
+		int count = 0, i = 0;
+		for (int j = 0; j < batch.length; j++) {
+			long e = batch[j];
+			if (count > 0 && e == batch[count - 1]) continue;
+			while (i < size && valueAt(i) < e) {
+				i++;
+			}
+			if (i < size && valueAt(i) == e) continue;
+			batch[count++] = e;
+		}
+		if (count == 0) return false;
+
+		grow(size + count);
+		int r = size - 1, w = size + count - 1;
+		for (int j = count - 1; j >= 0; w--) {
+			if (r >= 0 && valueAt(r) > batch[j]) {
+				setValueAt(w, valueAt(r--));
+			} else {
+				setValueAt(w, batch[j--]);
+			}
+		}
+		setSize(size + count);
+		return true;
+	}
+
+	public boolean remove(long e) {
+		int index = indexOf(e);
+		if (index < 0) return false;
+
+		shiftLeft(index + 1, size);
+		setSize(size - 1);
+		return true;
+	}
+
+	public boolean contains(long e) {
+		return indexOf(e) >= 0;
+	}
+
+	/** Returns the value at position index in sorted order. */
+	public long get(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("Index " + index + " is out of bounds for length " + size + ".");
+		}
+		return valueAt(index);
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	public long[] toArray() {
+		long[] result = new long[size];
+		for (int i = 0; i < size; i++) {
+			result[i] = valueAt(i);
+		}
+		return result;
+	}
+
+	public GrowthPolicy getGrowthPolicy() {
+		return growthPolicy;
+	}
+
+	/** Writes all changes to the disk. */
+	public void flush() {
+		for (MappedByteBuffer mapping : mappings) {
+			mapping.force();
+		}
+		header.force();
+	}
+
+	/** Flushes the changes and closes the file; the set must not be used afterwards. */
+	@Override
+	public void close() throws IOException {
+		flush();
+		channel.close();
+	}
+
+	@Override
+	public String toString() {
+		return Arrays.toString(toArray());
+	}
+}
@@ -0,0 +1,158 @@
+package ch.fhnw.algd2.arraycollections;
+
+import java.io.BufferedOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StreamCorruptedException;
+import java.util.Arrays;
+
+/**
+ * Binary snapshot format of the array collections. A snapshot consists of
+ * <ul>
+ * <li>the magic number 0x41434F4C ("ACOL") and a version byte,</li>
+ * <li>a byte telling the kind of collection and a byte of flags,</li>
+ * <li>the number n of stored elements as variable length int,</li>
+ * <li>the n elements in the order of the backing array, either encoded by the
+ * codec or, for numeric codecs, as zig-zag encoded variable length
+ * differences,</li>
+ * <li>in counting mode, the n multiplicities as variable length ints.</li>
+ * </ul>
+ * Readers get the elements as an array which becomes the backing array of the
+ * new collection.
+ */
+final class Snapshot<E> {
+	static final byte SORTED_BAG = 1, SORTED_SET = 2, UNSORTED_BAG = 3, UNSORTED_SET = 4;
+	private static final int MAGIC = 0x41434F4C;
+	private static final byte VERSION = 1;
+	private static final int NUMERIC = 1, COUNTING = 2;
+	private static final int MAX_LENGTH = Integer.MAX_VALUE - 8;
+	private static final int INITIAL_LENGTH = 1024;
+
+	final E[] data;
+	final int length;
+	final int[] counts; // multiplicities, null unless counting
+
+	private Snapshot(E[] data, int length, int[] counts) {
+		this.data = data;
+		this.length = length;
+		this.counts = counts;
+	}
+
+	/** Writes data[0, length) and, if not null, their multiplicities counts[0, length). */
+	static <E> void write(OutputStream out, byte kind, E[] data, int length, int[] counts, ElementCodec<? super E> codec)
+			throws IOException {
+		DataOutputStream dataOut = new DataOutputStream(new BufferedOutputStream(out));
+		dataOut.writeInt(MAGIC);
+		dataOut.writeByte(VERSION);
+		dataOut.writeByte(kind);
+		dataOut.writeByte((codec.isNumeric() ? NUMERIC : 0) | (counts != null ? COUNTING : 0));
+		writeVarLong(dataOut, length);
+		if (codec.isNumeric()) {
+			long previous = 0;
+			for (int i = 0; i < length; i++) {
+				long value = codec.toLong(data[i]);
+				writeVarLong(dataOut, zigZag(value - previous));
+				previous = value;
+			}
+		} else {
+			for (int i = 0; i < length; i++) {
+				codec.write(dataOut, data[i]);
+			}
+		}
+		if (counts != null) {
+			for (int i = 0; i < length; i++) {
+				writeVarLong(dataOut, counts[i]);
+			}
+		}
+		dataOut.flush();
+	}
+
+	/**
+	 * Reads a snapshot of the given kind. The stream is not buffered here, since
+	 * that could consume bytes behind the snapshot. The arrays grow with the
+	 * elements actually read, so a corrupt length cannot force a huge allocation.
+	 */
+	static <E> Snapshot<E> read(InputStream in, byte kind, ElementCodec<E> codec) throws IOException {
+		DataInput dataIn = new DataInputStream(in);
+		if (dataIn.readInt() != MAGIC) throw new StreamCorruptedException("Not a collection snapshot");
+		byte version = dataIn.readByte();
+		if (version != VERSION) throw new IOException("Unsupported snapshot version " + version);
+		byte actualKind = dataIn.readByte();
+		if (actualKind != kind) throw new IOException("Snapshot of kind " + actualKind + " instead of " + kind);
+		int flags = dataIn.readByte();
+		if (((flags & NUMERIC) != 0) != codec.isNumeric()) throw new IOException("Snapshot was written by another codec");
+		long length = readVarLong(dataIn);
+		if (length < 0 || length > MAX_LENGTH) throw new StreamCorruptedException("Corrupt snapshot length " + length);
+
+		int n = (int)length;
+		@SuppressWarnings("unchecked")
+		E[] data = (E[])new Object[Math.min(n, INITIAL_LENGTH)];
+		long previous = 0;
+		for (int i = 0; i < n; i++) {
+			if (i == data.length) data = Arrays.copyOf(data, grownLength(i, n));
+			if (codec.isNumeric()) {
+				previous += unZigZag(readVarLong(dataIn));
+				data[i] = codec.fromLong(previous);
+			} else {
+				data[i] = codec.read(dataIn);
+			}
+			if (data[i] == null) throw new StreamCorruptedException("Codec returned null");
+		}
+		int[] counts = null;
+		if ((flags & COUNTING) != 0) {
+			counts = new int[Math.min(n, INITIAL_LENGTH)];
+			for (int i = 0; i < n; i++) {
+				if (i == counts.length) counts = Arrays.copyOf(counts, grownLength(i, n));
+				long count = readVarLong(dataIn);
+				if (count <= 0 || count > Integer.MAX_VALUE) throw new StreamCorruptedException("Corrupt multiplicity " + count);
+				counts[i] = (int)count;
+			}
+		}
+		return new Snapshot<E>(data, n, counts);
+	}
+
+	/** Doubles length, but not beyond the announced length n. */
+	private static int grownLength(int length, int n) {
+		return (int)Math.min(2L * length, n);
+	}
+
+	/** Checks that the elements are ascending, strictly if distinct, in the order of c. */
+	void checkOrder(AbstractSortedArrayCollection<E> c, boolean distinct) throws IOException {
+		for (int i = 1; i < length; i++) {
+			int cmp = c.compare(data[i - 1], data[i]);
+			if (cmp > 0 || distinct && cmp == 0) throw new StreamCorruptedException("Snapshot is not sorted");
+		}
+	}
+
+	private static long zigZag(long value) {
+		return value << 1 ^ value >> 63;
+	}
+
+	private static long unZigZag(long value) {
+		return value >>> 1 ^ -(value & 1);
+	}
+
+	/** Writes value in groups of 7 bits, least significant first, with the high bit marking continuation. */
+	private static void writeVarLong(DataOutput out, long value) throws IOException {
+		while ((value & ~0x7FL) != 0) {
+			out.writeByte((int)(value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		out.writeByte((int)value);
+	}
+
+	private static long readVarLong(DataInput in) throws IOException {
+		long value = 0;
+		for (int shift = 0; shift < 64; shift += 7) {
+			byte b = in.readByte();
+			value |= (long)(b & 0x7F) << shift;
+			if (b >= 0) return value;
+		}
+		throw new StreamCorruptedException("Corrupt variable length number");
+	}
+}
@@ -1,84 +1,413 @@
 package ch.fhnw.algd2.arraycollections;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
-public class SortedBag<E extends Comparable<? super E>> extends AbstractArrayCollection<E> {
+/**
+ * Sorted bag stored in an array. The free slots of the array form a gap which
+ * normally lies behind the last element. In gap buffer mode the gap stays at
+ * the position of the last insertion or removal, so that clustered updates
+ * only move the elements between two consecutive edit positions.
+ * <p>
+ * The elements are ordered by their natural order or by a comparator.
+ * Elements which compare equal count as equal, also for contains and remove.
+ * <p>
+ * In lazy removal mode remove only nulls the slot of the element and marks it
+ * as a tombstone; searches skip tombstones. The array is compacted in a single
+ * pass once more than a quarter of the slots are tombstones, or before any
+ * other operation needs the elements at their positions.
+ */
+public class SortedBag<E> extends AbstractSortedArrayCollection<E> {
     public static final int DEFAULT_CAPACITY = 100;
+    private static final int COMPACTION_DIVISOR = 4; // compact once more than 1/4 of the slots are tombstones
     private E[] data;
     private int size = 0;
+    private int gap = 0; // logical index of the gap, elements [gap, size) are stored behind the gap
+    private boolean gapBuffer = false;
+    private int[] next; // next[i] leads to the first live slot from i on, null unless removing lazily
+    private int tombstones = 0;
 
     public SortedBag() {
         this(DEFAULT_CAPACITY);
     }
 
+    private int gapLength() {
+        return data.length - size;
+    }
+
     private int indexOf(Object o) {
         checkNull(o);
-        return Arrays.binarySearch(data, 0, size, o);
+        @SuppressWarnings("unchecked")
+        E e = (E)o;
+        if (gap == size || gap > 0 && compare(data[gap-1], e) >= 0) {
+            return Arrays.binarySearch(data, 0, gap, e, order());
+        }
+        int gapLength = gapLength();
+        int index = Arrays.binarySearch(data, gap + gapLength, data.length, e, order());
+        return index >= 0 ? index - gapLength : index + gapLength;
     }
 
     private void shiftLeft(int startIndex) {
-        while (startIndex < size-1) {
-            data[startIndex] = data[startIndex+1];
-            startIndex++;
-        }
+        countMoves(size - 1 - startIndex);
+        System.arraycopy(data, startIndex + 1, data, startIndex, size - 1 - startIndex);
         data[size-1] = null;
     }
 
     private void shiftRight(int startIndex) {
-        int i = size;
-        while (i > startIndex) {
-            data[i] = data[i-1];
-            i--;
+        countMoves(size - startIndex);
+        System.arraycopy(data, startIndex, data, startIndex + 1, size - startIndex);
+    }
+
+    /**
+     * Moves the gap to logical index. Only the elements between the old and the
+     * new position of the gap are copied.
+     */
+    private void moveGap(int index) {
+        int gapLength = gapLength();
+        if (gapLength > 0) {
+            if (index < gap) {
+                countMoves(gap - index);
+                System.arraycopy(data, index, data, index + gapLength, gap - index);
+                Arrays.fill(data, index, Math.min(gap, index + gapLength), null);
+            } else if (index > gap) {
+                countMoves(index - gap);
+                System.arraycopy(data, gap + gapLength, data, gap, index - gap);
+                Arrays.fill(data, Math.max(index, gap + gapLength), index + gapLength, null);
+            }
         }
+        gap = index;
     }
 
-    @SuppressWarnings("unchecked")
     public SortedBag(int capacity) {
-        data = (E[])new Comparable[capacity];
+        this(capacity, GrowthPolicy.FIXED);
+    }
+
+    public SortedBag(int capacity, GrowthPolicy growthPolicy) {
+        this(capacity, growthPolicy, null);
+    }
+
+    /** Creates a bag ordered by comparator, or by the natural order if it is null. */
+    public SortedBag(Comparator<? super E> comparator) {
+        this(DEFAULT_CAPACITY, GrowthPolicy.FIXED, comparator);
+    }
+
+    @SuppressWarnings("unchecked")
+    public SortedBag(int capacity, GrowthPolicy growthPolicy, Comparator<? super E> comparator) {
+        super(growthPolicy, comparator);
+        data = (E[])new Object[capacity];
+    }
+
+    /**
+     * Returns the first slot from slot on which is not a tombstone. Halves the
+     * path on the way, so that runs of tombstones are skipped in amortized
+     * almost constant time.
+     */
+    private int nextLive(int slot) {
+        while (next[slot] != slot) {
+            next[slot] = next[next[slot]];
+            slot = next[slot];
+        }
+        return slot;
+    }
+
+    /** Returns the first live slot in [from, to) holding an element not smaller than e, or to. */
+    private int lowerLive(int from, int to, E e) {
+        int lo = from, hi = to;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            int slot = nextLive(mid);
+            if (slot < hi && compare(data[slot], e) < 0) lo = slot + 1;
+            else hi = mid;
+        }
+        return Math.min(nextLive(lo), to);
+    }
+
+    /** Returns the slot of a live element equal to o, or -1. */
+    private int liveSlotOf(Object o) {
+        checkNull(o);
+        @SuppressWarnings("unchecked")
+        E e = (E)o;
+        int end = gap;
+        int slot = lowerLive(0, gap, e);
+        if (slot == gap) {
+            end = data.length;
+            slot = lowerLive(gap + gapLength(), end, e);
+        }
+        return slot < end && compare(data[slot], e) == 0 ? slot : -1;
+    }
+
+    private void resetTombstones() {
+        for (int i = 0; i < next.length; i++) {
+            next[i] = i;
+        }
+        tombstones = 0;
+    }
+
+    /** Removes the tombstones in one pass; the gap is moved behind the last element. */
+    private void compact() {
+        if (tombstones == 0) return;
+        moveGap(size);
+        int w = 0;
+        for (int i = 0; i < size; i++) {
+            if (data[i] != null) data[w++] = data[i];
+        }
+        Arrays.fill(data, w, size, null);
+        countMoves(w);
+        size = w;
+        gap = w;
+        resetTombstones();
+    }
+
+    public boolean isLazyRemoval() {
+        return next != null;
+    }
+
+    /**
+     * Switches lazy removal mode on or off. When switched off, the tombstones
+     * are removed.
+     */
+    public void setLazyRemoval(boolean lazyRemoval) {
+        compact();
+        if (!lazyRemoval) {
+            next = null;
+        } else if (next == null) {
+            next = new int[data.length + 1];
+            resetTombstones();
+        }
+    }
+
+    public boolean isGapBuffer() {
+        return gapBuffer;
+    }
+
+    /**
+     * Switches gap buffer mode on or off. When switched off, the gap is moved
+     * behind the last element again.
+     */
+    public void setGapBuffer(boolean gapBuffer) {
+        compact();
+        if (!gapBuffer) moveGap(size);
+        this.gapBuffer = gapBuffer;
     }
 
     @Override
     public boolean add(E e) {
+        compact();
         int index = indexOf(e);
         if (index < 0) index = (-1 * index) - 1; // when not found: index = (-(insertionPoint) - 1)
-        if (index >= data.length) throw new IllegalStateException("Array is full");
+        grow(size + 1);
 
-        if (index < size) {
-             shiftRight(index);
-        } else {
-             index = size;
+        if (gapBuffer) {
+            moveGap(index);
+        } else if (index < size) {
+            shiftRight(index);
         }
 
         data[index] = e;
         size++;
+        gap++;
+        modCount++;
+        return true;
+    }
+
+    /**
+     * Adds all elements of c with a single merge: the new elements are sorted
+     * and then merged into the backing array from its end. This costs
+     * O(n + k log k) instead of k shifting inserts.
+     */
+    @Override
+    public boolean addAll(Collection<? extends E> c) {
+        Object[] batch = c.toArray();
+        if (batch.length == 0) return false;
+        for (Object o : batch) {
+            checkNull(o);
+        }
+        @SuppressWarnings("unchecked")
+        E[] sorted = (E[])batch;
+        Arrays.sort(sorted, order());
+
+        compact();
+        moveGap(size);
+        grow(size + batch.length);
+        int i = size - 1, j = batch.length - 1, w = size + batch.length - 1;
+        while (j >= 0) {
+            E e = sorted[j];
+            if (i >= 0 && compare(data[i], e) > 0) {
+                data[w--] = data[i--];
+            } else {
+                data[w--] = e;
+                j--;
+            }
+        }
+        countMoves(size - 1 - i);
+        size += batch.length;
+        gap = size;
+        modCount++;
         return true;
     }
 
     @Override
     public boolean remove(Object o) {
+        if (next != null) return removeLazily(o);
         int index = indexOf(o);
-        if(index >= data.length) throw new IllegalStateException("Array is full");
         if (index < 0) return false;
 
-        data[index] = null;
-        if (index < size-1) shiftLeft(index);
-        size--;
+        removeAt(index);
+        return true;
+    }
+
+    private boolean removeLazily(Object o) {
+        int slot = liveSlotOf(o);
+        if (slot < 0) return false;
+
+        data[slot] = null;
+        next[slot] = slot + 1;
+        tombstones++;
+        modCount++;
+        if (tombstones > size / COMPACTION_DIVISOR) compact();
+        return true;
+    }
+
+    /** Removes the matching elements in a single pass over the array. */
+    @Override
+    public boolean removeIf(Predicate<? super E> filter) {
+        compact();
+        moveGap(size);
+        long[] marks = matching(data, size, filter);
+        if (marks == null) return false;
+
+        size = removeMarked(data, size, marks);
+        gap = size;
+        modCount++;
         return true;
     }
 
+    @Override
+    protected void removeAt(int index) {
+        compact();
+        if (gapBuffer) {
+            moveGap(index);
+            data[gap + gapLength()] = null;
+        } else {
+            shiftLeft(index);
+            gap--;
+        }
+        size--;
+        modCount++;
+    }
+
+    @Override
+    protected E elementAt(int index) {
+        compact();
+        return data[index < gap ? index : index + gapLength()];
+    }
+
+    /**
+     * Walks the parts before and behind the gap in two plain loops, so that the
+     * spliterators of parallel streams scan their half of the array without
+     * mapping every position.
+     */
+    @Override
+    protected void forEachInRange(int from, int to, Consumer<? super E> action) {
+        compact();
+        E[] data = this.data;
+        int gapLength = gapLength(), i = from;
+        for (int end = Math.min(to, gap); i < end; i++) {
+            action.accept(data[i]);
+        }
+        for (; i < to; i++) {
+            action.accept(data[i + gapLength]);
+        }
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(data, null);
+        if (next != null) resetTombstones();
+        size = 0;
+        gap = 0;
+        modCount++;
+    }
+
+    /** Returns a read-only view of the elements in [lo, hi). */
+    public Collection<E> subBag(E lo, E hi) {
+        return range(lo, hi);
+    }
+
     @Override
     public boolean contains(Object o) {
-        return indexOf(o) >= 0;
+        return tombstones > 0 ? liveSlotOf(o) >= 0 : indexOf(o) >= 0;
     }
 
     @Override
     public Object[] toArray() {
-        return Arrays.copyOf(data, size());
+        compact();
+        countArrayCopy();
+        Object[] result = Arrays.copyOf(data, size());
+        System.arraycopy(data, gap + gapLength(), result, gap, size - gap);
+        return result;
     }
 
     @Override
     public int size() {
-        return size;
+        return size - tombstones;
+    }
+
+    @Override
+    protected int capacity() {
+        return data.length;
+    }
+
+    @Override
+    protected void resize(int newCapacity) {
+        compact();
+        E[] newData = Arrays.copyOf(data, newCapacity);
+        int tail = size - gap;
+        Arrays.fill(newData, gap, Math.min(data.length, newCapacity), null);
+        System.arraycopy(data, data.length - tail, newData, newCapacity - tail, tail);
+        data = newData;
+        if (next != null) {
+            next = new int[newCapacity + 1];
+            resetTombstones();
+        }
+    }
+
+    /**
+     * Writes a binary snapshot of the elements, see {@link ElementCodec}. The
+     * comparator is not stored.
+     */
+    public void writeTo(OutputStream out, ElementCodec<? super E> codec) throws IOException {
+        compact();
+        moveGap(size);
+        Snapshot.write(out, Snapshot.SORTED_BAG, data, size, null, codec);
+    }
+
+    /** Reads a snapshot written by writeTo into a bag ordered by the natural order. */
+    public static <E extends Comparable<? super E>> SortedBag<E> readFrom(InputStream in, ElementCodec<E> codec)
+            throws IOException {
+        return readFrom(in, codec, null);
+    }
+
+    /**
+     * Reads a snapshot written by writeTo into a bag ordered by comparator. The
+     * elements read become the backing array, further additions grow it by the
+     * default growth policy.
+     */
+    public static <E> SortedBag<E> readFrom(InputStream in, ElementCodec<E> codec, Comparator<? super E> comparator)
+            throws IOException {
+        Snapshot<E> snapshot = Snapshot.read(in, Snapshot.SORTED_BAG, codec);
+        SortedBag<E> bag = new SortedBag<E>(0, GrowthPolicy.DEFAULT, comparator);
+        snapshot.checkOrder(bag, false);
+        bag.data = snapshot.data;
+        bag.size = snapshot.length;
+        bag.gap = snapshot.length;
+        return bag;
     }
 
     public static void main(String[] args) {
@@ -1,48 +1,363 @@
 package ch.fhnw.algd2.arraycollections;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Objects;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.function.Predicate;
 
-public class SortedSet<E extends Comparable<? super E>> extends AbstractArrayCollection<E> implements Set<E> {
+/**
+ * Sorted set stored in an array. The elements are ordered by their natural
+ * order or by a comparator; elements which compare equal count as equal.
+ */
+public class SortedSet<E> extends AbstractSortedArrayCollection<E> implements Set<E> {
 	public static final int DEFAULT_CAPACITY = 100;
 	private E[] data;
+	private int size = 0;
 
 	public SortedSet() {
 		this(DEFAULT_CAPACITY);
 	}
 
-	@SuppressWarnings("unchecked")
 	public SortedSet(int capacity) {
-		data = (E[])new Comparable[capacity];
+		this(capacity, GrowthPolicy.FIXED);
+	}
+
+	public SortedSet(int capacity, GrowthPolicy growthPolicy) {
+		this(capacity, growthPolicy, null);
+	}
+
+	/** Creates a set ordered by comparator, or by the natural order if it is null. */
+	public SortedSet(Comparator<? super E> comparator) {
+		this(DEFAULT_CAPACITY, GrowthPolicy.FIXED, comparator);
+	}
+
+	@SuppressWarnings("unchecked")
+	public SortedSet(int capacity, GrowthPolicy growthPolicy, Comparator<? super E> comparator) {
+		super(growthPolicy, comparator);
+		data = (E[])new Object[capacity];
+	}
+
+	/** Creates a set on sorted and distinct elements data[0, size). */
+	private SortedSet(E[] data, int size, GrowthPolicy growthPolicy, Comparator<? super E> comparator) {
+		super(growthPolicy, comparator);
+		this.data = data;
+		this.size = size;
+	}
+
+	private int indexOf(Object o) {
+		checkNull(o);
+		return Arrays.binarySearch(data, 0, size, elementOf(o), order());
 	}
 
 	@Override
 	public boolean add(E e) {
-		// TODO implement unless collection shall be immutable
-		throw new UnsupportedOperationException();
+		int index = indexOf(e);
+		if (index >= 0) return false;
+		index = -index - 1; // insertion point
+		grow(size + 1);
+
+		countMoves(size - index);
+		System.arraycopy(data, index, data, index + 1, size - index);
+		data[index] = e;
+		size++;
+		modCount++;
+		return true;
+	}
+
+	/**
+	 * Adds all elements of c with a single merge: the new elements are sorted,
+	 * freed of duplicates and of elements already contained, and then merged
+	 * into the backing array from its end. This costs O(n + k log k) instead of
+	 * k shifting inserts.
+	 */
+	@Override
+	public boolean addAll(Collection<? extends E> c) {
+		Object[] batch = c.toArray();
+		for (Object o : batch) {
+			checkNull(o);
+		}
+		@SuppressWarnings("unchecked")
+		E[] sorted = (E[])batch;
+		Arrays.sort(sorted, order());
+
+		int count = 0, i = 0;
+		for (int j = 0; j < batch.length; j++) {
+			E e = elementOf(batch[j]);
+			if (count > 0 && compare(e, elementOf(batch[count - 1])) == 0) continue;
+			while (i < size && compare(data[i], e) < 0) {
+				i++;
+			}
+			if (i < size && compare(data[i], e) == 0) continue;
+			batch[count++] = e;
+		}
+		if (count == 0) return false;
+
+		grow(size + count);
+		mergeFromEnd(batch, count);
+		return true;
+	}
+
+	/** Merges the first count elements of batch, all not contained yet, into data. */
+	private void mergeFromEnd(Object[] batch, int count) {
+		int i = size - 1, j = count - 1, w = size + count - 1;
+		while (j >= 0) {
+			E e = elementOf(batch[j]);
+			if (i >= 0 && compare(data[i], e) > 0) {
+				data[w--] = data[i--];
+			} else {
+				data[w--] = e;
+				j--;
+			}
+		}
+		countMoves(size - 1 - i);
+		size += count;
+		modCount++;
+	}
+
+	@SuppressWarnings("unchecked")
+	private E elementOf(Object o) {
+		return (E)o;
 	}
 
 	@Override
 	public boolean remove(Object o) {
-		// TODO implement unless collection shall be immutable
-		throw new UnsupportedOperationException();
+		int index = indexOf(o);
+		if (index < 0) return false;
+
+		removeAt(index);
+		return true;
+	}
+
+	/** Removes the matching elements in a single pass over the array. */
+	@Override
+	public boolean removeIf(Predicate<? super E> filter) {
+		long[] marks = matching(data, size, filter);
+		if (marks == null) return false;
+
+		size = removeMarked(data, size, marks);
+		modCount++;
+		return true;
+	}
+
+	@Override
+	protected void removeAt(int index) {
+		countMoves(size - 1 - index);
+		System.arraycopy(data, index + 1, data, index, size - 1 - index);
+		data[--size] = null;
+		modCount++;
+	}
+
+	@Override
+	protected E elementAt(int index) {
+		return data[index];
+	}
+
+	@Override
+	public void clear() {
+		Arrays.fill(data, 0, size, null);
+		size = 0;
+		modCount++;
+	}
+
+	/** Returns a read-only view of the elements in [lo, hi). */
+	public Collection<E> subSet(E lo, E hi) {
+		return range(lo, hi);
+	}
+
+	@Override
+	protected int characteristics() {
+		return super.characteristics() | Spliterator.DISTINCT;
 	}
 
 	@Override
 	public boolean contains(Object o) {
-		// TODO must be implemented
-		throw new UnsupportedOperationException();
+		return indexOf(o) >= 0;
+	}
+
+	/*
+	 * Set algebra. The results are new sets with the order and the growth policy
+	 * of this set and a capacity equal to their size.
+	 */
+
+	/** Returns the elements contained in this set or in other. */
+	public SortedSet<E> union(SortedSet<E> other) {
+		return merge(other, true, true, true, size + other.size);
+	}
+
+	/** Returns the elements contained both in this set and in other. */
+	public SortedSet<E> intersection(SortedSet<E> other) {
+		return merge(other, false, true, false, Math.min(size, other.size));
+	}
+
+	/** Returns the elements of this set not contained in other. */
+	public SortedSet<E> difference(SortedSet<E> other) {
+		return merge(other, true, false, false, size);
+	}
+
+	/** Returns the elements contained in exactly one of this set and other. */
+	public SortedSet<E> symmetricDifference(SortedSet<E> other) {
+		return merge(other, true, false, true, size + other.size);
+	}
+
+	/** Returns the number of elements contained both in this set and in other. */
+	public int intersectionSize(SortedSet<E> other) {
+		checkOrder(other);
+		return mergeInto(other, false, true, false, null);
+	}
+
+	public static <E> SortedSet<E> union(SortedSet<E> a, SortedSet<E> b) {
+		return a.union(b);
+	}
+
+	public static <E> SortedSet<E> intersection(SortedSet<E> a, SortedSet<E> b) {
+		return a.intersection(b);
+	}
+
+	public static <E> SortedSet<E> difference(SortedSet<E> a, SortedSet<E> b) {
+		return a.difference(b);
+	}
+
+	public static <E> SortedSet<E> symmetricDifference(SortedSet<E> a, SortedSet<E> b) {
+		return a.symmetricDifference(b);
+	}
+
+	public static <E> int intersectionSize(SortedSet<E> a, SortedSet<E> b) {
+		return a.intersectionSize(b);
+	}
+
+	private void checkOrder(SortedSet<E> other) {
+		if (!Objects.equals(comparator(), other.comparator())) {
+			throw new IllegalArgumentException("Sets must have the same order");
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private SortedSet<E> merge(SortedSet<E> other, boolean onlyThis, boolean both, boolean onlyOther, int maxSize) {
+		checkOrder(other);
+		E[] result = (E[])new Object[maxSize];
+		int n = mergeInto(other, onlyThis, both, onlyOther, result);
+		return new SortedSet<E>(n < maxSize ? Arrays.copyOf(result, n) : result, n, getGrowthPolicy(), comparator());
+	}
+
+	/**
+	 * Merges this set with other into result (or only counts if result is null)
+	 * and returns the number of elements written. The flags tell which elements
+	 * to keep: those only in this set, those in both sets, those only in other.
+	 * <p>
+	 * The loop walks the smaller set and gallops through the larger one: the
+	 * run of elements of the larger set before the next element of the smaller
+	 * set is found by an exponential search and copied in one piece. This costs
+	 * O(m log(n / m)) comparisons for sets of sizes m <= n, which is linear for
+	 * sets of similar size and logarithmic for a very small set.
+	 */
+	private int mergeInto(SortedSet<E> other, boolean onlyThis, boolean both, boolean onlyOther, E[] result) {
+		boolean thisIsSmall = size <= other.size;
+		E[] small = thisIsSmall ? data : other.data, large = thisIsSmall ? other.data : data;
+		int smallSize = thisIsSmall ? size : other.size, largeSize = thisIsSmall ? other.size : size;
+		boolean onlySmall = thisIsSmall ? onlyThis : onlyOther, onlyLarge = thisIsSmall ? onlyOther : onlyThis;
+
+		int j = 0, w = 0;
+		for (int i = 0; i < smallSize; i++) {
+			E e = small[i];
+			int k = gallop(large, j, largeSize, e);
+			if (onlyLarge) {
+				if (result != null) System.arraycopy(large, j, result, w, k - j);
+				w += k - j;
+			}
+			if (k < largeSize && compare(large[k], e) == 0) {
+				if (both) {
+					if (result != null) result[w] = thisIsSmall ? e : large[k];
+					w++;
+				}
+				j = k + 1;
+			} else {
+				if (onlySmall) {
+					if (result != null) result[w] = e;
+					w++;
+				}
+				j = k;
+			}
+		}
+		if (onlyLarge) {
+			if (result != null) System.arraycopy(large, j, result, w, largeSize - j);
+			w += largeSize - j;
+		}
+		return w;
+	}
+
+	/** Returns the first index in [from, to) of an element of a not smaller than e, or to. */
+	private int gallop(E[] a, int from, int to, E e) {
+		int lo = from, hi = from, step = 1;
+		while (hi < to && compare(a[hi], e) < 0) {
+			lo = hi + 1;
+			hi = step < to - hi ? hi + step : to;
+			step <<= 1;
+		}
+		while (lo < hi) {
+			int mid = (lo + hi) >>> 1;
+			if (compare(a[mid], e) < 0) lo = mid + 1;
+			else hi = mid;
+		}
+		return lo;
+	}
+
+	/** Returns an immutable copy optimized for lookups. */
+	public FrozenSortedSet<E> freeze() {
+		return new FrozenSortedSet<E>(this, comparator());
 	}
 
 	@Override
 	public Object[] toArray() {
+		countArrayCopy();
 		return Arrays.copyOf(data, size());
 	}
 
 	@Override
 	public int size() {
-		// TODO must be implemented
-		return 0;
+		return size;
+	}
+
+	@Override
+	protected int capacity() {
+		return data.length;
+	}
+
+	@Override
+	protected void resize(int newCapacity) {
+		data = Arrays.copyOf(data, newCapacity);
+	}
+
+	/**
+	 * Writes a binary snapshot of the elements, see {@link ElementCodec}. The
+	 * comparator is not stored.
+	 */
+	public void writeTo(OutputStream out, ElementCodec<? super E> codec) throws IOException {
+		Snapshot.write(out, Snapshot.SORTED_SET, data, size, null, codec);
+	}
+
+	/** Reads a snapshot written by writeTo into a set ordered by the natural order. */
+	public static <E extends Comparable<? super E>> SortedSet<E> readFrom(InputStream in, ElementCodec<E> codec)
+			throws IOException {
+		return readFrom(in, codec, null);
+	}
+
+	/**
+	 * Reads a snapshot written by writeTo into a set ordered by comparator. The
+	 * elements read become the backing array, further additions grow it by the
+	 * default growth policy.
+	 */
+	public static <E> SortedSet<E> readFrom(InputStream in, ElementCodec<E> codec, Comparator<? super E> comparator)
+			throws IOException {
+		Snapshot<E> snapshot = Snapshot.read(in, Snapshot.SORTED_SET, codec);
+		SortedSet<E> set = new SortedSet<E>(snapshot.data, snapshot.length, GrowthPolicy.DEFAULT, comparator);
+		snapshot.checkOrder(set, true);
+		return set;
 	}
 
 	public static void main(String[] args) {
@@ -1,47 +1,287 @@
 package ch.fhnw.algd2.arraycollections;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StreamCorruptedException;
 import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
 
+/**
+ * Unsorted bag stored densely in an array. In counting mode every distinct
+ * element is stored only once together with its multiplicity; the capacity
+ * then limits the number of distinct elements. This saves memory and makes
+ * contains and remove proportional to the number of distinct elements when
+ * elements repeat a lot.
+ */
 public class UnsortedBag<E> extends AbstractArrayCollection<E> {
 	public static final int DEFAULT_CAPACITY = 100;
 	private E[] data;
+	private int[] counts; // multiplicities of the elements in data, null unless counting
+	private int size = 0;
+	private int used = 0; // number of occupied slots in data
 
 	public UnsortedBag() {
 		this(DEFAULT_CAPACITY);
 	}
 
-	@SuppressWarnings("unchecked")
 	public UnsortedBag(int capacity) {
+		this(capacity, GrowthPolicy.FIXED);
+	}
+
+	public UnsortedBag(int capacity, GrowthPolicy growthPolicy) {
+		this(capacity, growthPolicy, false);
+	}
+
+	@SuppressWarnings("unchecked")
+	public UnsortedBag(int capacity, GrowthPolicy growthPolicy, boolean counting) {
+		super(growthPolicy);
 		data = (E[])new Object[capacity];
+		if (counting) counts = new int[capacity];
+	}
+
+	public boolean isCounting() {
+		return counts != null;
+	}
+
+	/** Returns how many times an element equal to o is contained. */
+	public int count(Object o) {
+		int index = indexOf(o);
+		if (index < 0) return 0;
+		if (counts != null) return counts[index];
+
+		int count = 0;
+		countEquals(used - index);
+		for (int i = index; i < used; i++) {
+			if (data[i].equals(o)) count++;
+		}
+		return count;
+	}
+
+	private int indexOf(Object o) {
+		checkNull(o);
+		int index = 0;
+		while (index < used && !data[index].equals(o)) {
+			index++;
+		}
+		countEquals(Math.min(index + 1, used));
+		return index < used ? index : -1;
 	}
 
 	@Override
 	public boolean add(E e) {
-		// TODO implement unless collection shall be immutable
-		throw new UnsupportedOperationException();
+		if (counts != null) {
+			int index = indexOf(e);
+			if (index >= 0) {
+				counts[index]++;
+				size++;
+				modCount++;
+				return true;
+			}
+		} else {
+			checkNull(e);
+		}
+		grow(used + 1);
+		data[used] = e;
+		if (counts != null) counts[used] = 1;
+		used++;
+		size++;
+		modCount++;
+		return true;
 	}
 
 	@Override
 	public boolean remove(Object o) {
-		// TODO implement unless collection shall be immutable
-		throw new UnsupportedOperationException();
+		int index = indexOf(o);
+		if (index < 0) return false;
+
+		removeFromSlot(index);
+		return true;
+	}
+
+	/**
+	 * Removes one occurrence of the element in slot. If it was the last one, the
+	 * last occupied slot is moved into the freed slot.
+	 */
+	private void removeFromSlot(int slot) {
+		size--;
+		modCount++;
+		if (counts != null && --counts[slot] > 0) return;
+
+		used--;
+		if (slot < used) countMoves(1);
+		data[slot] = data[used];
+		data[used] = null;
+		if (counts != null) counts[slot] = counts[used];
+	}
+
+	/** Returns the slot storing the element at position index. */
+	private int slotAt(int index) {
+		if (counts == null) return index;
+		int slot = 0;
+		while (index >= counts[slot]) {
+			index -= counts[slot++];
+		}
+		return slot;
+	}
+
+	@Override
+	protected void removeAt(int index) {
+		removeFromSlot(slotAt(index));
+	}
+
+	@Override
+	protected E elementAt(int index) {
+		return data[slotAt(index)];
+	}
+
+	@Override
+	public Iterator<E> iterator() {
+		return counts == null ? super.iterator() : new CountingIterator();
+	}
+
+	@Override
+	public Spliterator<E> spliterator() {
+		return counts == null ? super.spliterator() : Spliterators.spliterator(iterator(), size, characteristics());
+	}
+
+	@Override
+	public void forEach(Consumer<? super E> action) {
+		if (counts == null) {
+			super.forEach(action);
+			return;
+		}
+		int expectedModCount = modCount;
+		for (int slot = 0; slot < used; slot++) {
+			for (int i = 0; i < counts[slot]; i++) {
+				action.accept(data[slot]);
+			}
+		}
+		if (modCount != expectedModCount) throw new ConcurrentModificationException();
+	}
+
+	@Override
+	public void clear() {
+		Arrays.fill(data, 0, used, null);
+		used = 0;
+		size = 0;
+		modCount++;
 	}
 
 	@Override
 	public boolean contains(Object o) {
-		// TODO must be implemented
-		throw new UnsupportedOperationException();
+		return indexOf(o) >= 0;
 	}
 
 	@Override
 	public Object[] toArray() {
-		return Arrays.copyOf(data, size());
+		countArrayCopy();
+		if (counts == null) return Arrays.copyOf(data, size());
+
+		Object[] result = new Object[size];
+		int pos = 0;
+		for (int i = 0; i < used; i++) {
+			Arrays.fill(result, pos, pos + counts[i], data[i]);
+			pos += counts[i];
+		}
+		return result;
 	}
 
 	@Override
 	public int size() {
-		// TODO must be implemented
-		return 0;
+		return size;
+	}
+
+	@Override
+	protected int capacity() {
+		return data.length;
+	}
+
+	@Override
+	protected void resize(int newCapacity) {
+		data = Arrays.copyOf(data, newCapacity);
+		if (counts != null) counts = Arrays.copyOf(counts, newCapacity);
+	}
+
+	@Override
+	public void trimToSize() {
+		if (used < capacity()) reallocate(used);
+	}
+
+	/** Returns every element of a slot as often as it is contained. */
+	private class CountingIterator implements Iterator<E> {
+		private int slot = 0, occurrence = 0; // next element is occurrence of data[slot]
+		private int lastSlot = -1;
+		private int expectedModCount = modCount;
+
+		@Override
+		public boolean hasNext() {
+			return slot < used;
+		}
+
+		@Override
+		public E next() {
+			if (modCount != expectedModCount) throw new ConcurrentModificationException();
+			if (slot >= used) throw new NoSuchElementException();
+			lastSlot = slot;
+			if (++occurrence == counts[slot]) {
+				slot++;
+				occurrence = 0;
+			}
+			return data[lastSlot];
+		}
+
+		@Override
+		public void remove() {
+			if (lastSlot < 0) throw new IllegalStateException();
+			if (modCount != expectedModCount) throw new ConcurrentModificationException();
+			if (counts[lastSlot] > 1) {
+				if (slot == lastSlot) occurrence--;
+			} else {
+				slot = lastSlot; // the last slot is moved here and has not been visited yet
+				occurrence = 0;
+			}
+			removeFromSlot(lastSlot);
+			lastSlot = -1;
+			expectedModCount = modCount;
+		}
+	}
+
+	/**
+	 * Writes a binary snapshot of the elements, see {@link ElementCodec}. In
+	 * counting mode every distinct element is written once with its
+	 * multiplicity.
+	 */
+	public void writeTo(OutputStream out, ElementCodec<? super E> codec) throws IOException {
+		Snapshot.write(out, Snapshot.UNSORTED_BAG, data, used, counts, codec);
+	}
+
+	/**
+	 * Reads a snapshot written by writeTo. The bag is in counting mode if the
+	 * written one was; the elements read become the backing array, further
+	 * additions grow it by the default growth policy.
+	 */
+	public static <E> UnsortedBag<E> readFrom(InputStream in, ElementCodec<E> codec) throws IOException {
+		Snapshot<E> snapshot = Snapshot.read(in, Snapshot.UNSORTED_BAG, codec);
+		UnsortedBag<E> bag = new UnsortedBag<E>(0, GrowthPolicy.DEFAULT, snapshot.counts != null);
+		bag.data = snapshot.data;
+		bag.used = snapshot.length;
+		bag.size = snapshot.length;
+		if (snapshot.counts != null) {
+			long size = 0;
+			for (int count : snapshot.counts) {
+				size += count;
+			}
+			if (size > Integer.MAX_VALUE) throw new StreamCorruptedException("Corrupt snapshot, too many elements");
+			bag.counts = snapshot.counts;
+			bag.size = (int)size;
+		}
+		return bag;
 	}
 
 	public static void main(String[] args) {
@@ -1,55 +1,192 @@
 package ch.fhnw.algd2.arraycollections;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StreamCorruptedException;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.function.Predicate;
 
+/**
+ * Unsorted set stored densely in an array. An open addressing hash table
+ * (linear probing) maps the elements to their positions in the array, so that
+ * contains, add and remove do not have to scan the array.
+ */
 public class UnsortedSet<E> extends AbstractArrayCollection<E> implements Set<E> {
 	public static final int DEFAULT_CAPACITY = 100;
 	private E[] data;
 	private int size = 0;
+	private int[] index; // positions in data plus one, 0 marks a free slot
 
 	public UnsortedSet() {
 		this(DEFAULT_CAPACITY);
 	}
 
-	@SuppressWarnings("unchecked")
 	public UnsortedSet(int capacity) {
+		this(capacity, GrowthPolicy.FIXED);
+	}
+
+	@SuppressWarnings("unchecked")
+	public UnsortedSet(int capacity, GrowthPolicy growthPolicy) {
+		super(growthPolicy);
 		data = (E[])new Object[capacity];
+		buildIndex();
 	}
 
-	private int indexOf(Object o) {
-		checkNull(o);
-		int index = 0;
-		while (index < data.length && data[index] != null && !data[index].equals(o)) {
-			index++;
+	private static int hash(Object o) {
+		int h = o.hashCode();
+		return h ^ (h >>> 16);
+	}
+
+	/** Rebuilds the hash table with at least twice as many slots as data. */
+	private void buildIndex() {
+		int length = 2;
+		while (length < 2L * data.length && length < (1 << 30)) {
+			length <<= 1;
+		}
+		index = new int[length];
+		for (int pos = 0; pos < size; pos++) {
+			index[-slotOf(data[pos]) - 1] = pos + 1;
+		}
+	}
+
+	/**
+	 * Returns the slot of the hash table referring to an element equal to o, or
+	 * (-(free slot) - 1) if there is none.
+	 */
+	private int slotOf(Object o) {
+		int mask = index.length - 1;
+		int slot = hash(o) & mask;
+		while (index[slot] != 0) {
+			countEquals(1);
+			if (data[index[slot] - 1].equals(o)) return slot;
+			slot = (slot + 1) & mask;
+		}
+		return -slot - 1;
+	}
+
+	/** Returns the slot of the hash table referring to position pos in data. */
+	private int slotOfPosition(int pos) {
+		int mask = index.length - 1;
+		int slot = hash(data[pos]) & mask;
+		while (index[slot] != pos + 1) {
+			slot = (slot + 1) & mask;
 		}
+		return slot;
+	}
 
-		if (index == data.length || data[index] == null) {
-			return -1;
-		} else {
-			return index;
+	/**
+	 * Frees a slot of the hash table. Following entries of the same probe
+	 * sequence are shifted back, so that no tombstones are needed.
+	 */
+	private void freeSlot(int slot) {
+		int mask = index.length - 1;
+		int free = slot;
+		for (int i = (slot + 1) & mask; index[i] != 0; i = (i + 1) & mask) {
+			int home = hash(data[index[i] - 1]) & mask;
+			if (((i - home) & mask) >= ((i - free) & mask)) {
+				index[free] = index[i];
+				free = i;
+			}
 		}
+		index[free] = 0;
+	}
 
+	private int indexOf(Object o) {
+		checkNull(o);
+		int slot = slotOf(o);
+		return slot >= 0 ? index[slot] - 1 : -1;
 	}
 
 	@Override
 	public boolean add(E e) {
-		if (contains(e)) return false;
-		if (size >= data.length) throw new IllegalStateException("Array is full");
+		checkNull(e);
+		int slot = slotOf(e);
+		if (slot >= 0) return false;
+		if (size == data.length) {
+			grow(size + 1);
+			slot = slotOf(e);
+		}
 		data[size] = e;
 		size++;
+		index[-slot - 1] = size;
+		modCount++;
 		return true;
 	}
 
 	@Override
 	public boolean remove(Object o) {
-		int index = indexOf(o);
-		if (index < 0) return false;
+		checkNull(o);
+		int slot = slotOf(o);
+		if (slot < 0) return false;
+
+		removeSlot(slot);
+		return true;
+	}
+
+	/**
+	 * Removes the matching elements in a single pass over the array and
+	 * rebuilds the hash table once afterwards.
+	 */
+	@Override
+	public boolean removeIf(Predicate<? super E> filter) {
+		long[] marks = matching(data, size, filter);
+		if (marks == null) return false;
+
+		size = removeMarked(data, size, marks);
+		buildIndex();
+		modCount++;
+		return true;
+	}
+
+	@Override
+	public boolean removeAll(Collection<?> c) {
+		return removeIf(c::contains);
+	}
+
+	@Override
+	public boolean retainAll(Collection<?> c) {
+		return removeIf(e -> !c.contains(e));
+	}
+
+	@Override
+	protected void removeAt(int index) {
+		removeSlot(slotOfPosition(index));
+	}
 
-		data[index] = data[size - 1];
+	/** Removes the element referred to by slot and moves the last element to its position. */
+	private void removeSlot(int slot) {
+		int pos = index[slot] - 1;
+		freeSlot(slot);
+		if (pos < size - 1) {
+			index[slotOfPosition(size - 1)] = pos + 1;
+			data[pos] = data[size - 1];
+			countMoves(1);
+		}
 		data[size - 1] = null;
 		size--;
-		return true;
+		modCount++;
+	}
+
+	@Override
+	protected E elementAt(int index) {
+		return data[index];
+	}
+
+	@Override
+	public void clear() {
+		Arrays.fill(data, 0, size, null);
+		Arrays.fill(index, 0);
+		size = 0;
+		modCount++;
+	}
+
+	@Override
+	protected int characteristics() {
+		return super.characteristics() | Spliterator.DISTINCT;
 	}
 
 	@Override
@@ -59,6 +196,7 @@ public class UnsortedSet<E> extends AbstractArrayCollection<E> implements Set<E>
 
 	@Override
 	public Object[] toArray() {
+		countArrayCopy();
 		return Arrays.copyOf(data, size());
 	}
 
@@ -67,6 +205,40 @@ public class UnsortedSet<E> extends AbstractArrayCollection<E> implements Set<E>
 		return size;
 	}
 
+	@Override
+	protected int capacity() {
+		return data.length;
+	}
+
+	@Override
+	protected void resize(int newCapacity) {
+		data = Arrays.copyOf(data, newCapacity);
+		buildIndex();
+	}
+
+	/** Writes a binary snapshot of the elements, see {@link ElementCodec}. */
+	public void writeTo(OutputStream out, ElementCodec<? super E> codec) throws IOException {
+		Snapshot.write(out, Snapshot.UNSORTED_SET, data, size, null, codec);
+	}
+
+	/**
+	 * Reads a snapshot written by writeTo. The elements read become the backing
+	 * array, further additions grow it by the default growth policy.
+	 */
+	public static <E> UnsortedSet<E> readFrom(InputStream in, ElementCodec<E> codec) throws IOException {
+		Snapshot<E> snapshot = Snapshot.read(in, Snapshot.UNSORTED_SET, codec);
+		UnsortedSet<E> set = new UnsortedSet<E>(0, GrowthPolicy.DEFAULT);
+		set.data = snapshot.data;
+		set.buildIndex();
+		for (int pos = 0; pos < snapshot.length; pos++) {
+			int slot = set.slotOf(set.data[pos]);
+			if (slot >= 0) throw new StreamCorruptedException("Snapshot contains duplicates");
+			set.index[-slot - 1] = pos + 1;
+			set.size++;
+		}
+		return set;
+	}
+
 	public static void main(String[] args) {
 		UnsortedSet<Integer> bag = new UnsortedSet<Integer>();
 		bag.add(2);
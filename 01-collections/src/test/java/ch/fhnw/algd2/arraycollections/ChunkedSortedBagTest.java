@@ -0,0 +1,58 @@
+package ch.fhnw.algd2.arraycollections;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class ChunkedSortedBagTest extends SortedBagTest {
+	@Override
+	protected <T extends Comparable<? super T>> AbstractArrayCollection<T> createCollection(int size) {
+		return new ChunkedSortedBag<T>(size, GrowthPolicy.FIXED, null, 4);
+	}
+
+	@Test
+	public void randomInsertsAndRemovesKeepOrder() {
+		ChunkedSortedBag<Integer> b = new ChunkedSortedBag<Integer>(4, GrowthPolicy.DEFAULT, null, 8);
+		List<Integer> expected = new ArrayList<Integer>();
+		Random random = new Random(42);
+		for (int i = 0; i < 5000; i++) {
+			Integer value = random.nextInt(500);
+			if (random.nextInt(3) == 0) {
+				assertTrue(b.remove(value) == expected.remove(value));
+			} else {
+				assertTrue(b.add(value));
+				expected.add(value);
+			}
+		}
+		Collections.sort(expected);
+		assertArrayEquals(expected.toArray(), b.toArray());
+		assertArrayEquals(expected.toArray(), b.stream().toArray());
+		for (int i = 0; i < expected.size(); i++) {
+			assertEquals(expected.get(i), b.select(i));
+		}
+		for (int i = 0; i < 500; i++) {
+			assertTrue(b.contains(i) == expected.contains(i));
+			assertEquals(Collections.frequency(expected, i), b.countInRange(i, i + 1));
+		}
+	}
+
+	@Test
+	public void removeWhileIteratingMergesLeaves() {
+		ChunkedSortedBag<Integer> b = new ChunkedSortedBag<Integer>(1000, GrowthPolicy.FIXED, null, 8);
+		for (int i = 0; i < 1000; i++) {
+			b.add(i % 100);
+		}
+		assertTrue(b.removeIf(i -> i % 10 != 0));
+		assertEquals(100, b.size());
+		assertEquals(10, b.countInRange(30, 31));
+		assertEquals(Integer.valueOf(90), b.select(99));
+		assertEquals(4500, b.parallelStream().mapToInt(Integer::intValue).sum());
+	}
+}
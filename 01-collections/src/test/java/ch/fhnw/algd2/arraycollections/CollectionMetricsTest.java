@@ -0,0 +1,86 @@
+package ch.fhnw.algd2.arraycollections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.junit.Test;
+
+public class CollectionMetricsTest {
+	@Test
+	public void notInstrumentedByDefault() {
+		SortedBag<Integer> bag = new SortedBag<Integer>(10);
+		bag.add(2);
+		bag.add(1);
+		assertFalse(bag.isInstrumented());
+		assertEquals(0, bag.getMetrics().getComparisons());
+		assertEquals(0, bag.getMetrics().getElementMoves());
+	}
+
+	@Test
+	public void sortedBagCountsSearchesAndShifts() {
+		SortedBag<Integer> bag = new SortedBag<Integer>(2, GrowthPolicy.DEFAULT);
+		bag.setInstrumented(true);
+		for (int i = 9; i >= 0; i--) {
+			bag.add(i);
+		}
+		CollectionMetrics metrics = bag.getMetrics();
+		assertTrue(metrics.getComparisons() > 0);
+		assertEquals(45, metrics.getElementMoves()); // 0 + 1 + ... + 9
+		assertTrue(metrics.getReallocations() > 0);
+
+		bag.toArray();
+		assertEquals(1, bag.getMetrics().since(metrics).getArrayCopies());
+	}
+
+	@Test
+	public void switchingOffKeepsCounters() {
+		SortedSet<Integer> set = new SortedSet<Integer>(10);
+		set.setInstrumented(true);
+		set.add(1);
+		set.add(0);
+		set.setInstrumented(false);
+		set.add(-1);
+		assertEquals(1, set.getMetrics().getElementMoves());
+
+		set.resetMetrics();
+		assertEquals(0, set.getMetrics().getElementMoves());
+	}
+
+	@Test
+	public void unsortedBagCountsEquals() {
+		UnsortedBag<String> bag = new UnsortedBag<String>(10);
+		bag.setInstrumented(true);
+		bag.add("a");
+		bag.add("b");
+		bag.add("c");
+		assertTrue(bag.contains("b"));
+		assertFalse(bag.contains("d"));
+		assertEquals(5, bag.getMetrics().getEqualsCalls());
+		assertEquals(0, bag.getMetrics().getComparisons());
+	}
+
+	@Test
+	public void registersMBean() throws JMException {
+		SortedSet<Integer> set = new SortedSet<Integer>(10);
+		ObjectName name = set.registerMetrics("test");
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		try {
+			assertTrue(set.isInstrumented());
+			set.add(1);
+			set.add(0);
+			assertEquals(1L, server.getAttribute(name, "ElementMoves"));
+			server.invoke(name, "reset", null, null);
+			assertEquals(0, set.getMetrics().getElementMoves());
+		}
+		finally {
+			server.unregisterMBean(name);
+		}
+	}
+}
@@ -0,0 +1,74 @@
+package ch.fhnw.algd2.arraycollections;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.Test;
+
+public class ConcurrentSortedBagTest extends SortedBagTest {
+	@Override
+	protected <T extends Comparable<? super T>> AbstractArrayCollection<T> createCollection(int size) {
+		return new ConcurrentSortedBag<T>(size);
+	}
+
+	@Override
+	@Test
+	public void iteratorFailsAfterModification() {
+		addNumbersToBag(new Integer[] { 1, 2, 3 });
+		Iterator<Integer> it = bag.iterator();
+		it.next();
+		bag.remove(3);
+		assertEquals(Integer.valueOf(2), it.next()); // iterates a snapshot
+		assertEquals(Integer.valueOf(3), it.next());
+	}
+
+	@Test
+	public void callbacksMayUseTheBag() {
+		ConcurrentSortedBag<Integer> bag = new ConcurrentSortedBag<Integer>(10, GrowthPolicy.DEFAULT);
+		bag.add(1);
+		bag.add(2);
+		bag.add(2);
+		bag.forEach(e -> bag.add(e + 10));
+		assertEquals(6, bag.size());
+		assertTrue(bag.removeIf(e -> bag.contains(e + 10)));
+		assertArrayEquals(new Object[] { 11, 12, 12 }, bag.toArray());
+	}
+
+	@Test
+	public void concurrentWritersAndReaders() throws InterruptedException {
+		ConcurrentSortedBag<Integer> b = new ConcurrentSortedBag<Integer>(16, GrowthPolicy.DEFAULT);
+		AtomicBoolean failed = new AtomicBoolean();
+		List<Thread> threads = new ArrayList<Thread>();
+		for (int t = 0; t < 4; t++) {
+			int offset = t;
+			threads.add(new Thread(() -> {
+				for (int i = 0; i < 2000; i++) {
+					b.add(4 * i + offset);
+				}
+			}));
+			threads.add(new Thread(() -> {
+				for (int i = 0; i < 2000; i++) {
+					if (b.contains(-1) || b.countInRange(0, Integer.MAX_VALUE) > 8000) failed.set(true);
+				}
+			}));
+		}
+		for (Thread thread : threads)
+			thread.start();
+		for (Thread thread : threads)
+			thread.join();
+		assertTrue(!failed.get());
+		assertEquals(8000, b.size());
+		for (int i = 0; i < 8000; i++) {
+			assertEquals(i, b.select(i).intValue());
+		}
+		assertTrue(b.removeIf(i -> i % 2 == 0));
+		assertEquals(4000, b.size());
+		assertArrayEquals(b.toArray(), b.stream().toArray());
+	}
+}
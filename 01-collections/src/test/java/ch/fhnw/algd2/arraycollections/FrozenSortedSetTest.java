@@ -0,0 +1,66 @@
+package ch.fhnw.algd2.arraycollections;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Test;
+
+public class FrozenSortedSetTest {
+	@Test
+	public void containsAllSizes() {
+		for (int n = 0; n < 70; n++) {
+			SortedSet<Integer> set = new SortedSet<Integer>(n);
+			for (int i = 0; i < n; i++) {
+				set.add(2 * i);
+			}
+			FrozenSortedSet<Integer> frozen = set.freeze();
+			assertEquals(n, frozen.size());
+			for (int i = -1; i <= 2 * n; i++) {
+				assertEquals(i >= 0 && i % 2 == 0 && i < 2 * n, frozen.contains(i));
+			}
+			assertArrayEquals(set.toArray(), frozen.toArray());
+		}
+	}
+
+	@Test
+	public void removesDuplicates() {
+		FrozenSortedSet<Integer> frozen = new FrozenSortedSet<Integer>(Arrays.asList(5, 3, 5, 1, 3));
+		assertArrayEquals(new Integer[] { 1, 3, 5 }, frozen.toArray());
+		assertTrue(frozen.contains(3));
+		assertFalse(frozen.contains(4));
+	}
+
+	@Test
+	public void iteratesInOrder() {
+		for (int n = 0; n < 40; n++) {
+			SortedSet<Integer> set = new SortedSet<Integer>(n);
+			for (int i = 0; i < n; i++) {
+				set.add(i);
+			}
+			FrozenSortedSet<Integer> frozen = set.freeze();
+			int expected = 0;
+			for (Integer i : frozen) {
+				assertEquals(expected, i.intValue());
+				assertEquals(i, frozen.elementAt(expected));
+				expected++;
+			}
+			assertEquals(n, expected);
+			assertEquals(n * (n - 1) / 2, frozen.parallelStream().mapToInt(Integer::intValue).sum());
+		}
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void isImmutable() {
+		new FrozenSortedSet<Integer>(Collections.<Integer> emptyList()).add(1);
+	}
+
+	@Test(expected = NullPointerException.class)
+	public void containsNull() {
+		new FrozenSortedSet<Integer>(Arrays.asList(1)).contains(null);
+	}
+}
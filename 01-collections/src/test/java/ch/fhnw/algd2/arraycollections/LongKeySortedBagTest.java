@@ -0,0 +1,99 @@
+package ch.fhnw.algd2.arraycollections;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class LongKeySortedBagTest {
+	private static final class Event {
+		private final long time;
+		private final String name;
+
+		private Event(long time, String name) {
+			this.time = time;
+			this.name = name;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			return o instanceof Event && ((Event)o).time == time && ((Event)o).name.equals(name);
+		}
+
+		@Override
+		public int hashCode() {
+			return Long.hashCode(time) * 31 + name.hashCode();
+		}
+	}
+
+	private final Event a = new Event(30, "a"), b = new Event(10, "b"), c = new Event(20, "c"), d = new Event(10, "d");
+
+	private LongKeySortedBag<Event> createBag() {
+		LongKeySortedBag<Event> bag = new LongKeySortedBag<Event>(4, e -> e.time);
+		bag.add(a);
+		bag.add(b);
+		bag.add(c);
+		bag.add(d);
+		return bag;
+	}
+
+	@Test
+	public void ordersByKeyKeepingInsertionOrder() {
+		LongKeySortedBag<Event> bag = createBag();
+		assertArrayEquals(new Event[] { b, d, c, a }, bag.toArray());
+		assertEquals(10, bag.keyAt(1));
+		assertEquals(2, bag.rank(20));
+		assertEquals(3, bag.countInRange(10, 30));
+		assertEquals(c, bag.ceiling(new Event(15, "x")));
+	}
+
+	@Test
+	public void removeRequiresEqualElement() {
+		LongKeySortedBag<Event> bag = createBag();
+		assertFalse(bag.contains(new Event(10, "x")));
+		assertFalse(bag.remove(new Event(10, "x")));
+		assertTrue(bag.remove(new Event(10, "d")));
+		assertArrayEquals(new Event[] { b, c, a }, bag.toArray());
+	}
+
+	@Test
+	public void indexOfRequiresEqualElement() {
+		LongKeySortedBag<Event> bag = createBag();
+		bag.remove(a);
+		bag.add(new Event(10, "b"));
+		assertEquals(-1, bag.firstIndexOf(new Event(10, "x")));
+		assertEquals(-1, bag.lastIndexOf(new Event(10, "x")));
+		assertEquals(0, bag.firstIndexOf(b));
+		assertEquals(2, bag.lastIndexOf(b));
+		assertEquals(1, bag.firstIndexOf(d));
+		assertEquals(1, bag.lastIndexOf(d));
+	}
+
+	@Test
+	public void orderQueriesCompareKeysOnly() {
+		LongKeySortedBag<Event> bag = createBag();
+		Event x = new Event(10, "x");
+		assertEquals(0, bag.rank(x));
+		assertEquals(d, bag.floor(x));
+		assertEquals(b, bag.ceiling(x));
+		assertEquals(2, bag.countInRange(x, c));
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void addMoreThanCapacity() {
+		createBag().add(new Event(0, "e"));
+	}
+
+	@Test
+	public void growsWithPolicy() {
+		LongKeySortedBag<Event> bag = new LongKeySortedBag<Event>(1, GrowthPolicy.DEFAULT, e -> e.time);
+		for (int i = 100; i > 0; i--) {
+			bag.add(new Event(i, "e"));
+		}
+		for (int i = 0; i < 100; i++) {
+			assertEquals(i + 1, bag.keyAt(i));
+		}
+	}
+}
@@ -0,0 +1,110 @@
+package ch.fhnw.algd2.arraycollections;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class MappedLongSortedSetTest {
+	private Path file;
+
+	@Before
+	public void createFile() throws IOException {
+		file = Files.createTempFile("longset", ".bin");
+	}
+
+	@After
+	public void deleteFile() throws IOException {
+		Files.deleteIfExists(file);
+	}
+
+	@Test
+	public void matchesTreeSetAcrossSegments() throws IOException {
+		TreeSet<Long> expected = new TreeSet<Long>();
+		Random random = new Random(5);
+		try (MappedLongSortedSet set = MappedLongSortedSet.open(file, GrowthPolicy.DEFAULT, 4)) {
+			for (int i = 0; i < 3000; i++) {
+				long value = random.nextInt(1000) - 500;
+				if (random.nextInt(3) == 0) {
+					assertEquals(expected.remove(value), set.remove(value));
+				} else {
+					assertEquals(expected.add(value), set.add(value));
+				}
+			}
+			assertEquals(expected.size(), set.size());
+			for (long i = -501; i <= 500; i++) {
+				assertEquals(expected.contains(i), set.contains(i));
+			}
+			assertArrayEquals(expected.stream().mapToLong(Long::longValue).toArray(), set.toArray());
+		}
+	}
+
+	@Test
+	public void reopensWithoutRebuilding() throws IOException {
+		try (MappedLongSortedSet set = MappedLongSortedSet.open(file)) {
+			assertTrue(set.isEmpty());
+			assertTrue(set.addAll(7, 3, 3, Long.MIN_VALUE, 5000));
+			assertFalse(set.addAll(3, 7));
+			assertTrue(set.addAll(4, 8, 7));
+		}
+		try (MappedLongSortedSet set = MappedLongSortedSet.open(file, GrowthPolicy.DEFAULT, 2)) {
+			assertArrayEquals(new long[] { Long.MIN_VALUE, 3, 4, 7, 8, 5000 }, set.toArray());
+			assertEquals(4, set.get(2));
+			assertTrue(set.contains(5000));
+			assertTrue(set.remove(3));
+		}
+		try (MappedLongSortedSet set = MappedLongSortedSet.open(file)) {
+			assertEquals(5, set.size());
+			assertFalse(set.contains(3));
+		}
+	}
+
+	@Test(expected = IOException.class)
+	public void rejectsForeignFiles() throws IOException {
+		Files.write(file, new byte[] { 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17 });
+		MappedLongSortedSet.open(file).close();
+	}
+
+	@Test
+	public void leavesForeignFilesUnchanged() throws IOException {
+		byte[][] contents = { { 1, 2, 3, 4, 5 }, { 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17 } };
+		for (byte[] content : contents) {
+			Files.write(file, content);
+			try {
+				MappedLongSortedSet.open(file).close();
+				fail("Opened a foreign file");
+			}
+			catch (IOException e) {
+				assertArrayEquals(content, Files.readAllBytes(file));
+			}
+		}
+	}
+
+	@Test
+	public void shiftsAcrossManySegments() throws IOException {
+		TreeSet<Long> expected = new TreeSet<Long>();
+		Random random = new Random(9);
+		try (MappedLongSortedSet set = MappedLongSortedSet.open(file, GrowthPolicy.DEFAULT, 1)) {
+			for (int i = 0; i < 2000; i++) {
+				long value = random.nextInt(200);
+				if (random.nextBoolean()) {
+					assertEquals(expected.remove(value), set.remove(value));
+				} else {
+					assertEquals(expected.add(value), set.add(value));
+				}
+				assertArrayEquals(expected.stream().mapToLong(Long::longValue).toArray(), set.toArray());
+			}
+		}
+	}
+}
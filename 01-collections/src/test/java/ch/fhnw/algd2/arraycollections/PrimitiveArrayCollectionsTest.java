@@ -0,0 +1,135 @@
+package ch.fhnw.algd2.arraycollections;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+
+public class PrimitiveArrayCollectionsTest {
+	private static final int[] NUMBERS = { 5, 3, 8, 3, 1 };
+
+	private static void addAll(AbstractIntArrayCollection c) {
+		for (int n : NUMBERS)
+			c.add(n);
+	}
+
+	private static void addAll(AbstractLongArrayCollection c) {
+		for (int n : NUMBERS)
+			c.add(n);
+	}
+
+	@Test
+	public void intSortedBag() {
+		IntSortedBag bag = new IntSortedBag(10);
+		addAll(bag);
+		assertArrayEquals(new int[] { 1, 3, 3, 5, 8 }, bag.toArray());
+		assertTrue(bag.remove(3));
+		assertTrue(bag.contains(3));
+		assertFalse(bag.remove(4));
+		assertArrayEquals(new int[] { 1, 3, 5, 8 }, bag.toArray());
+	}
+
+	@Test
+	public void intSortedSet() {
+		IntSortedSet set = new IntSortedSet(10);
+		addAll(set);
+		assertArrayEquals(new int[] { 1, 3, 5, 8 }, set.toArray());
+		assertFalse(set.add(8));
+		assertTrue(set.remove(3));
+		assertFalse(set.contains(3));
+	}
+
+	@Test
+	public void intUnsortedBag() {
+		IntUnsortedBag bag = new IntUnsortedBag(10);
+		addAll(bag);
+		assertEquals(5, bag.size());
+		assertTrue(bag.remove(3));
+		assertTrue(bag.contains(3));
+		int[] content = bag.toArray();
+		Arrays.sort(content);
+		assertArrayEquals(new int[] { 1, 3, 5, 8 }, content);
+	}
+
+	@Test
+	public void intUnsortedSet() {
+		IntUnsortedSet set = new IntUnsortedSet(10);
+		addAll(set);
+		assertEquals(4, set.size());
+		assertTrue(set.remove(5));
+		assertFalse(set.contains(5));
+		assertTrue(set.contains(1));
+	}
+
+	@Test
+	public void longCollections() {
+		LongSortedBag sortedBag = new LongSortedBag(10);
+		LongSortedSet sortedSet = new LongSortedSet(10);
+		LongUnsortedBag unsortedBag = new LongUnsortedBag(10);
+		LongUnsortedSet unsortedSet = new LongUnsortedSet(10);
+		addAll(sortedBag);
+		addAll(sortedSet);
+		addAll(unsortedBag);
+		addAll(unsortedSet);
+		assertArrayEquals(new long[] { 1, 3, 3, 5, 8 }, sortedBag.toArray());
+		assertArrayEquals(new long[] { 1, 3, 5, 8 }, sortedSet.toArray());
+		assertEquals(5, unsortedBag.size());
+		assertEquals(4, unsortedSet.size());
+		assertTrue(sortedBag.contains(8L) && sortedSet.contains(8L) && unsortedBag.contains(8L) && unsortedSet.contains(8L));
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void addMoreThanCapacity() {
+		IntSortedBag bag = new IntSortedBag(5);
+		addAll(bag);
+		bag.add(20);
+	}
+
+	@Test
+	public void growBeyondCapacity() {
+		LongSortedBag bag = new LongSortedBag(1, GrowthPolicy.DEFAULT);
+		for (long i = 1000; i > 0; i--)
+			bag.add(i);
+		assertEquals(1000, bag.size());
+		assertEquals(1L, bag.toArray()[0]);
+		bag.trimToSize();
+		assertEquals(1000, bag.toArray().length);
+	}
+
+	@Test
+	public void unsortedSetsAgreeWithHashSet() {
+		IntUnsortedSet intSet = new IntUnsortedSet(1, GrowthPolicy.DEFAULT);
+		LongUnsortedSet longSet = new LongUnsortedSet(1, GrowthPolicy.DEFAULT);
+		Set<Integer> expected = new HashSet<>();
+		Random random = new Random(42);
+		for (int i = 0; i < 20000; i++) {
+			int n = random.nextInt(64) << (i % 3 * 8); // keys colliding in the low bits
+			if (random.nextInt(3) == 0) {
+				boolean removed = expected.remove(n);
+				assertEquals(removed, intSet.remove(n));
+				assertEquals(removed, longSet.remove(n));
+			} else {
+				boolean added = expected.add(n);
+				assertEquals(added, intSet.add(n));
+				assertEquals(added, longSet.add(n));
+			}
+			if (i % 1000 == 0) {
+				intSet.trimToSize();
+				longSet.trimToSize();
+			}
+			assertEquals(expected.size(), intSet.size());
+			assertEquals(expected.size(), longSet.size());
+		}
+		for (int n = 0; n < 64 << 16; n++) {
+			assertEquals(expected.contains(n), intSet.contains(n));
+			assertEquals(expected.contains(n), longSet.contains(n));
+		}
+	}
+}
@@ -0,0 +1,140 @@
+package ch.fhnw.algd2.arraycollections;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StreamCorruptedException;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Test;
+
+public class SnapshotTest {
+	@Test
+	public void sortedBagUsesDeltas() throws IOException {
+		SortedBag<Integer> bag = new SortedBag<Integer>(2000);
+		bag.setGapBuffer(true);
+		for (int i = 999; i >= 0; i--) {
+			bag.add(i);
+			bag.add(-i);
+		}
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		bag.writeTo(out, ElementCodec.INTEGER);
+		assertTrue(out.size() < 2 * bag.size() + 16);
+
+		SortedBag<Integer> copy = SortedBag.readFrom(new ByteArrayInputStream(out.toByteArray()), ElementCodec.INTEGER);
+		assertArrayEquals(bag.toArray(), copy.toArray());
+		assertTrue(copy.add(5));
+		assertEquals(2, copy.countInRange(5, 6));
+	}
+
+	@Test
+	public void sortedSetKeepsComparatorOrder() throws IOException {
+		SortedSet<String> set = new SortedSet<String>(Collections.reverseOrder());
+		set.addAll(Arrays.asList("pear", "apple", "fig"));
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		set.writeTo(out, ElementCodec.STRING);
+		SortedSet<String> copy = SortedSet.readFrom(new ByteArrayInputStream(out.toByteArray()), ElementCodec.STRING,
+				Collections.reverseOrder());
+		assertArrayEquals(new String[] { "pear", "fig", "apple" }, copy.toArray());
+		assertTrue(copy.contains("fig"));
+	}
+
+	@Test(expected = IOException.class)
+	public void rejectsWrongOrder() throws IOException {
+		SortedSet<String> set = new SortedSet<String>(Collections.reverseOrder());
+		set.addAll(Arrays.asList("pear", "apple", "fig"));
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		set.writeTo(out, ElementCodec.STRING);
+		SortedSet.readFrom(new ByteArrayInputStream(out.toByteArray()), ElementCodec.STRING);
+	}
+
+	@Test
+	public void unsortedCollectionsKeepTheirLayout() throws IOException {
+		UnsortedBag<Long> counting = new UnsortedBag<Long>(10, GrowthPolicy.FIXED, true);
+		UnsortedSet<Long> set = new UnsortedSet<Long>(10);
+		for (long i : new long[] { 7, Long.MIN_VALUE, 7, Long.MAX_VALUE, -3, 7 }) {
+			counting.add(i);
+			set.add(i);
+		}
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		counting.writeTo(out, ElementCodec.LONG);
+		set.writeTo(out, ElementCodec.LONG);
+		out.write(42);
+
+		InputStream in = new ByteArrayInputStream(out.toByteArray());
+		UnsortedBag<Long> countingCopy = UnsortedBag.readFrom(in, ElementCodec.LONG);
+		UnsortedSet<Long> setCopy = UnsortedSet.readFrom(in, ElementCodec.LONG);
+		assertEquals(42, in.read());
+
+		assertTrue(countingCopy.isCounting());
+		assertEquals(3, countingCopy.count(7L));
+		assertArrayEquals(counting.toArray(), countingCopy.toArray());
+		assertArrayEquals(set.toArray(), setCopy.toArray());
+		assertTrue(setCopy.contains(Long.MIN_VALUE));
+		assertTrue(setCopy.remove(7L));
+		assertTrue(setCopy.add(8L));
+		assertEquals(4, setCopy.size());
+	}
+
+	@Test(expected = IOException.class)
+	public void rejectsOtherKinds() throws IOException {
+		UnsortedSet<Integer> set = new UnsortedSet<Integer>(10);
+		set.add(1);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		set.writeTo(out, ElementCodec.INTEGER);
+		UnsortedBag.readFrom(new ByteArrayInputStream(out.toByteArray()), ElementCodec.INTEGER);
+	}
+
+	@Test(expected = EOFException.class)
+	public void truncatedSnapshotWithHugeLength() throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		DataOutputStream dataOut = new DataOutputStream(out);
+		dataOut.writeInt(0x41434F4C);
+		dataOut.writeByte(1); // version
+		dataOut.writeByte(1); // sorted bag
+		dataOut.writeByte(1); // numeric
+		dataOut.write(new byte[] { (byte)0xF7, (byte)0xFF, (byte)0xFF, (byte)0xFF, 0x07 }); // 2^31 - 9
+		dataOut.write(new byte[] { 2, 2, 2 });
+		SortedBag.readFrom(new ByteArrayInputStream(out.toByteArray()), ElementCodec.INTEGER);
+	}
+
+	@Test(expected = StreamCorruptedException.class)
+	public void rejectsNullFromNumericCodec() throws IOException {
+		SortedSet<Integer> set = new SortedSet<Integer>(10);
+		set.add(1);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		set.writeTo(out, ElementCodec.INTEGER);
+		ElementCodec<Integer> nulls = new ElementCodec<Integer>() {
+			@Override
+			public void write(DataOutput out, Integer e) throws IOException {
+				out.writeInt(e);
+			}
+
+			@Override
+			public Integer read(DataInput in) throws IOException {
+				return in.readInt();
+			}
+
+			@Override
+			public boolean isNumeric() {
+				return true;
+			}
+
+			@Override
+			public Integer fromLong(long value) {
+				return null;
+			}
+		};
+		SortedSet.readFrom(new ByteArrayInputStream(out.toByteArray()), nulls);
+	}
+}
@@ -0,0 +1,63 @@
+package ch.fhnw.algd2.arraycollections;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class SortedBagGapBufferTest extends SortedBagTest {
+	@Override
+	protected <T extends Comparable<? super T>> AbstractArrayCollection<T> createCollection(int size) {
+		SortedBag<T> bag = new SortedBag<T>(size);
+		bag.setGapBuffer(true);
+		return bag;
+	}
+
+	@Test
+	public void randomInsertsAndRemovesKeepOrder() {
+		SortedBag<Integer> b = new SortedBag<Integer>(4, GrowthPolicy.DEFAULT);
+		b.setGapBuffer(true);
+		List<Integer> expected = new ArrayList<Integer>();
+		Random random = new Random(42);
+		for (int i = 0; i < 2000; i++) {
+			Integer value = random.nextInt(300);
+			if (random.nextInt(3) == 0) {
+				assertTrue(b.remove(value) == expected.remove(value));
+			} else {
+				assertTrue(b.add(value));
+				expected.add(value);
+			}
+		}
+		Collections.sort(expected);
+		assertArrayEquals(expected.toArray(), b.toArray());
+		for (int i = 0; i < 300; i++) {
+			assertTrue(b.contains(i) == expected.contains(i));
+		}
+		b.setGapBuffer(false);
+		assertFalse(b.isGapBuffer());
+		assertArrayEquals(expected.toArray(), b.toArray());
+	}
+
+	@Test
+	public void parallelStreamAcrossGap() {
+		SortedBag<Integer> b = new SortedBag<Integer>(100_000);
+		b.setGapBuffer(true);
+		for (int i = 0; i < 100_000; i += 2) {
+			b.add(i);
+		}
+		for (int i = 1; i < 100_000; i += 2) {
+			b.add(i);
+		}
+		long expected = 100_000L * 99_999 / 2;
+		assertEquals(expected, b.parallelStream().mapToLong(Integer::longValue).sum());
+		assertEquals(50_000, b.parallelStream().filter(i -> i < 50_000).count());
+		assertArrayEquals(b.toArray(), b.parallelStream().sorted().toArray());
+	}
+}
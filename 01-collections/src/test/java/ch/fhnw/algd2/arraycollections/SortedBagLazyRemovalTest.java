@@ -0,0 +1,68 @@
+package ch.fhnw.algd2.arraycollections;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class SortedBagLazyRemovalTest extends SortedBagTest {
+	@Override
+	protected <T extends Comparable<? super T>> AbstractArrayCollection<T> createCollection(int size) {
+		SortedBag<T> bag = new SortedBag<T>(size);
+		bag.setLazyRemoval(true);
+		return bag;
+	}
+
+	@Test
+	public void randomInsertsAndRemovesKeepOrder() {
+		for (boolean gapBuffer : new boolean[] { false, true }) {
+			SortedBag<Integer> b = new SortedBag<Integer>(4, GrowthPolicy.DEFAULT);
+			b.setLazyRemoval(true);
+			b.setGapBuffer(gapBuffer);
+			List<Integer> expected = new ArrayList<Integer>();
+			Random random = new Random(42);
+			for (int i = 0; i < 5000; i++) {
+				Integer value = random.nextInt(300);
+				int op = random.nextInt(5);
+				if (op < 2) {
+					assertTrue(b.remove(value) == expected.remove(value));
+				} else if (op < 4) {
+					assertTrue(b.add(value));
+					expected.add(value);
+				} else {
+					assertTrue(b.contains(value) == expected.contains(value));
+				}
+				assertEquals(expected.size(), b.size());
+			}
+			Collections.sort(expected);
+			assertArrayEquals(expected.toArray(), b.toArray());
+		}
+	}
+
+	@Test
+	public void burstRemovalKeepsSearchesWorking() {
+		SortedBag<Integer> b = new SortedBag<Integer>(1000);
+		for (int i = 0; i < 1000; i++) {
+			b.add(i);
+		}
+		b.setLazyRemoval(true);
+		for (int i = 0; i < 1000; i += 2) {
+			assertTrue(b.remove(i));
+			assertFalse(b.contains(i));
+			assertTrue(b.contains(i + 1));
+		}
+		assertEquals(500, b.size());
+		assertEquals(Integer.valueOf(1), b.select(0));
+		assertEquals(250, b.countInRange(0, 500));
+		b.setLazyRemoval(false);
+		assertFalse(b.isLazyRemoval());
+		assertEquals(Integer.valueOf(999), b.select(499));
+	}
+}
@@ -1,10 +1,19 @@
 package ch.fhnw.algd2.arraycollections;
 
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
 
+import org.junit.Test;
+
 import ch.fhnw.algd2.arraycollections.general.AbstractBagTest;
 import ch.fhnw.algd2.arraycollections.general.ElementExistenceChecker;
 
@@ -30,4 +39,90 @@ public class SortedBagTest extends AbstractBagTest {
 	protected void checkElementExistence(Comparable<Integer>[] numbers) {
 		ElementExistenceChecker.inGivenOrder(Arrays.copyOf(numbers, numbers.length), bag);
 	}
+
+	@Test
+	public void addBeyondCapacityWithGrowthPolicy() {
+		SortedBag<Integer> b = new SortedBag<Integer>(2, GrowthPolicy.DEFAULT);
+		for (int i = 100; i > 0; i--) {
+			assertTrue(b.add(i % 50));
+		}
+		assertEquals(100, b.size());
+		assertTrue(b.capacity() >= 100);
+		Object[] content = b.toArray();
+		for (int i = 1; i < content.length; i++) {
+			assertTrue((Integer)content[i - 1] <= (Integer)content[i]);
+		}
+		b.trimToSize();
+		assertEquals(100, b.capacity());
+		b.ensureCapacity(1000);
+		assertEquals(1000, b.capacity());
+		assertEquals(100, b.size());
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void growthStopsAtMaxCapacity() {
+		SortedBag<Integer> b = new SortedBag<Integer>(2, GrowthPolicy.of(2, 8));
+		for (int i = 0; i < 8; i++) {
+			b.add(i);
+		}
+		b.add(8);
+	}
+
+	@Test
+	public void addAllMergesSortedBatch() {
+		addNumbersToBag(new Integer[] { 2, 4, 6 });
+		assertTrue(bag.addAll(Arrays.asList(5, 1, 4, 7)));
+		assertArrayEquals(new Integer[] { 1, 2, 4, 4, 5, 6, 7 }, bag.toArray());
+		assertFalse(bag.addAll(Collections.<Integer> emptyList()));
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void addAllMoreThanCapacity() {
+		bag.addAll(Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11));
+	}
+
+	@Test
+	public void rangeQueries() {
+		SortedBag<Integer> b = new SortedBag<Integer>(10);
+		b.addAll(Arrays.asList(1, 3, 3, 3, 5, 7, 9));
+		assertEquals(1, b.rank(3));
+		assertEquals(4, b.rank(4));
+		assertEquals(Integer.valueOf(5), b.select(4));
+		assertEquals(1, b.firstIndexOf(3));
+		assertEquals(3, b.lastIndexOf(3));
+		assertEquals(-1, b.firstIndexOf(4));
+		assertEquals(Integer.valueOf(3), b.floor(4));
+		assertEquals(Integer.valueOf(5), b.ceiling(4));
+		assertNull(b.floor(0));
+		assertNull(b.ceiling(10));
+		assertEquals(5, b.countInRange(3, 9));
+		assertEquals(0, b.countInRange(9, 3));
+
+		Collection<Integer> view = b.subBag(3, 7);
+		assertArrayEquals(new Integer[] { 3, 3, 3, 5 }, view.toArray());
+		assertTrue(view.contains(5));
+		assertFalse(view.contains(7));
+		b.add(6);
+		b.remove(3);
+		assertEquals(4, view.size());
+		assertEquals(17, view.stream().mapToInt(Integer::intValue).sum());
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void selectOutOfBounds() {
+		new SortedBag<Integer>(10).select(0);
+	}
+
+	@Test
+	public void comparatorOrder() {
+		SortedBag<String> b = new SortedBag<String>(10, GrowthPolicy.FIXED, String.CASE_INSENSITIVE_ORDER);
+		b.addAll(Arrays.asList("b", "C", "a"));
+		b.add("D");
+		assertArrayEquals(new String[] { "a", "b", "C", "D" }, b.toArray());
+		assertTrue(b.contains("c"));
+		assertEquals(1, b.rank("B"));
+		assertEquals(2, b.countInRange("B", "d"));
+		assertTrue(b.remove("A"));
+		assertEquals(String.CASE_INSENSITIVE_ORDER, b.stream().spliterator().getComparator());
+	}
 }
@@ -1,10 +1,20 @@
 package ch.fhnw.algd2.arraycollections;
 
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.junit.Test;
 
 import ch.fhnw.algd2.arraycollections.general.AbstractSetTest;
 import ch.fhnw.algd2.arraycollections.general.ElementExistenceChecker;
@@ -32,4 +42,82 @@ public class SortedSetTest extends AbstractSetTest {
 	protected void checkElementExistence(Comparable<Integer>[] numbers) {
 		ElementExistenceChecker.inGivenOrder(Arrays.copyOf(numbers, numbers.length), bag);
 	}
+
+	@Test
+	public void addAllMergesWithoutDuplicates() {
+		addNumbersToBag(new Integer[] { 2, 4, 6 });
+		assertTrue(bag.addAll(Arrays.asList(5, 1, 4, 7, 5, 1)));
+		assertArrayEquals(new Integer[] { 1, 2, 4, 5, 6, 7 }, bag.toArray());
+		assertFalse(bag.addAll(Arrays.asList(2, 6, 6)));
+		assertArrayEquals(new Integer[] { 1, 2, 4, 5, 6, 7 }, bag.toArray());
+	}
+
+	@Test
+	public void comparatorOrder() {
+		SortedSet<Integer> set = new SortedSet<Integer>(Collections.reverseOrder());
+		set.addAll(Arrays.asList(2, 7, 2, 5));
+		assertFalse(set.add(5));
+		assertArrayEquals(new Integer[] { 7, 5, 2 }, set.toArray());
+		assertArrayEquals(new Integer[] { 7, 5, 2 }, set.freeze().toArray());
+		assertTrue(set.freeze().contains(5));
+		assertFalse(set.freeze().contains(6));
+	}
+
+	@Test
+	public void setAlgebraMatchesTreeSet() {
+		Random random = new Random(3);
+		int[][] sizes = { { 0, 0 }, { 0, 5 }, { 50, 50 }, { 3, 2000 }, { 2000, 7 }, { 500, 800 } };
+		for (int[] s : sizes) {
+			SortedSet<Integer> a = randomSet(random, s[0]), b = randomSet(random, s[1]);
+			TreeSet<Integer> x = new TreeSet<Integer>(a), y = new TreeSet<Integer>(b);
+
+			TreeSet<Integer> union = new TreeSet<Integer>(x);
+			union.addAll(y);
+			TreeSet<Integer> intersection = new TreeSet<Integer>(x);
+			intersection.retainAll(y);
+			TreeSet<Integer> difference = new TreeSet<Integer>(x);
+			difference.removeAll(y);
+			TreeSet<Integer> symmetric = new TreeSet<Integer>(union);
+			symmetric.removeAll(intersection);
+
+			assertSet(union, a.union(b));
+			assertSet(intersection, SortedSet.intersection(a, b));
+			assertSet(difference, a.difference(b));
+			assertSet(symmetric, SortedSet.symmetricDifference(a, b));
+			assertEquals(intersection.size(), a.intersectionSize(b));
+			assertEquals(intersection.size(), b.intersectionSize(a));
+		}
+	}
+
+	private static SortedSet<Integer> randomSet(Random random, int size) {
+		SortedSet<Integer> set = new SortedSet<Integer>(size);
+		while (set.size() < size) {
+			set.add(random.nextInt(4 * size));
+		}
+		return set;
+	}
+
+	private static void assertSet(TreeSet<Integer> expected, SortedSet<Integer> actual) {
+		assertArrayEquals(expected.toArray(), actual.toArray());
+		assertEquals(actual.size(), actual.capacity());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void setAlgebraRequiresSameOrder() {
+		new SortedSet<Integer>().union(new SortedSet<Integer>(Collections.reverseOrder()));
+	}
+
+	@Test
+	public void removeIfKeepsElementsWhenFilterFails() {
+		addNumbersToBag(new Integer[] { 1, 2, 3, 4 });
+		try {
+			bag.removeIf(i -> {
+				if (i == 3) throw new IllegalArgumentException();
+				return true;
+			});
+			fail();
+		}
+		catch (IllegalArgumentException e) {}
+		assertArrayEquals(new Integer[] { 1, 2, 3, 4 }, bag.toArray());
+	}
 }
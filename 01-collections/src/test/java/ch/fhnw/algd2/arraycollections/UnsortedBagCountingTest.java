@@ -0,0 +1,34 @@
+package ch.fhnw.algd2.arraycollections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class UnsortedBagCountingTest extends UnsortedBagTest {
+	@Override
+	protected <T extends Comparable<? super T>> AbstractArrayCollection<T> createCollection(int size) {
+		return new UnsortedBag<T>(size, GrowthPolicy.FIXED, true);
+	}
+
+	@Test
+	public void duplicatesNeedNoCapacity() {
+		UnsortedBag<String> tags = new UnsortedBag<String>(2, GrowthPolicy.FIXED, true);
+		for (int i = 0; i < 1000; i++) {
+			assertTrue(tags.add("info"));
+			assertTrue(tags.add("warn"));
+		}
+		assertEquals(2000, tags.size());
+		assertEquals(1000, tags.count("info"));
+		assertTrue(tags.remove("info"));
+		assertEquals(999, tags.count("info"));
+		assertEquals(1999, tags.toArray().length);
+		for (int i = 0; i < 999; i++) {
+			assertTrue(tags.remove("info"));
+		}
+		assertFalse(tags.contains("info"));
+		assertTrue(tags.add("error"));
+		assertEquals(1001, tags.size());
+	}
+}
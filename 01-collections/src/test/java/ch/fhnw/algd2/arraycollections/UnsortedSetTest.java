@@ -1,11 +1,16 @@
 package ch.fhnw.algd2.arraycollections;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Random;
+import java.util.Set;
 
 import org.junit.Test;
 
@@ -37,6 +42,27 @@ public class UnsortedSetTest extends AbstractSetTest {
 		assertTrue(bag.contains(1));
 	}
 
+	@Test
+	public void randomAddsAndRemovesWithGrowth() {
+		UnsortedSet<Integer> set = new UnsortedSet<Integer>(1, GrowthPolicy.DEFAULT);
+		Set<Integer> expected = new HashSet<Integer>();
+		Random random = new Random(7);
+		for (int i = 0; i < 5000; i++) {
+			Integer value = random.nextInt(1000) * 1024; // equal low bits provoke collisions
+			if (random.nextInt(3) == 0) {
+				assertEquals(expected.remove(value), set.remove(value));
+			} else {
+				assertEquals(expected.add(value), set.add(value));
+			}
+		}
+		assertEquals(expected.size(), set.size());
+		for (int i = 0; i < 1000; i++) {
+			assertEquals(expected.contains(i * 1024), set.contains(i * 1024));
+		}
+		assertFalse(set.contains(1));
+		assertEquals(expected, new HashSet<Object>(Arrays.asList(set.toArray())));
+	}
+
 	@Override
 	protected void checkElementExistence(Comparable<Integer>[] numbers) {
 		ElementExistenceChecker.inRandomOrder(Arrays.copyOf(numbers, numbers.length), bag);
@@ -5,6 +5,11 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 import org.junit.Before;
@@ -196,6 +201,87 @@ public abstract class AbstractCollectionTest {
 		MemoryLeakChecker.removeHasNoMemoryLeak(createCollection(20));
 	}
 
+	/*
+	 * Check iterators and streams
+	 */
+	@Test
+	public void iteratorVisitsAllElements() {
+		Integer[] numbers = new Integer[] { 4, 2, 4, 1, 5 };
+		addNumbersToBag(numbers);
+		List<Integer> visited = new ArrayList<Integer>();
+		for (Integer i : bag) {
+			visited.add(i);
+		}
+		assertEquals(Arrays.asList(bag.toArray()), visited);
+		assertEquals(bag.size(), bag.stream().count());
+		assertEquals(sum(bag.toArray()), bag.parallelStream().mapToInt(Integer::intValue).sum());
+	}
+
+	@Test
+	public void iteratorRemovesElements() {
+		Integer[] numbers = new Integer[] { 1, 2, 3, 4, 5, 6, 7, 8 };
+		addNumbersToBag(numbers);
+		int visited = 0;
+		for (Iterator<Integer> it = bag.iterator(); it.hasNext();) {
+			visited++;
+			if (it.next() % 2 == 0) it.remove();
+		}
+		assertEquals(numbers.length, visited);
+		assertEquals(4, bag.size());
+		for (int i = 1; i <= 8; i++) {
+			assertEquals(i % 2 == 1, bag.contains(i));
+		}
+	}
+
+	@Test(expected = ConcurrentModificationException.class)
+	public void iteratorFailsAfterModification() {
+		addNumbersToBag(new Integer[] { 1, 2, 3 });
+		Iterator<Integer> it = bag.iterator();
+		it.next();
+		bag.remove(3);
+		it.next();
+	}
+
+	/*
+	 * Check bulk removal
+	 */
+	@Test
+	public void removeAllAndRetainAll() {
+		addNumbersToBag(new Integer[] { 6, 2, 8, 1, 5, 3 });
+		assertTrue(bag.removeAll(Arrays.asList(8, 3, 9, 3)));
+		assertFalse(bag.removeAll(Arrays.asList(9, 8)));
+		assertEquals(4, bag.size());
+		assertFalse(bag.retainAll(Arrays.asList(5, 1, 7, 2, 6)));
+		assertTrue(bag.retainAll(Arrays.asList(5, 1, 7)));
+		assertEquals(2, bag.size());
+		for (int i = 0; i < 10; i++) {
+			assertEquals(i == 1 || i == 5, bag.contains(i));
+		}
+		assertTrue(bag.add(4));
+		assertEquals(3, bag.stream().count());
+	}
+
+	@Test
+	public void removeIfRemovesMatchingElements() {
+		addNumbersToBag(new Integer[] { 1, 2, 3, 4, 5, 6, 7, 8 });
+		assertFalse(bag.removeIf(i -> i > 8));
+		assertTrue(bag.removeIf(i -> i % 3 != 0));
+		assertEquals(2, bag.size());
+		assertTrue(bag.contains(3));
+		assertTrue(bag.contains(6));
+		assertFalse(bag.contains(4));
+		assertTrue(bag.remove(6));
+		assertEquals(1, bag.size());
+	}
+
+	private static int sum(Object[] numbers) {
+		int sum = 0;
+		for (Object n : numbers) {
+			sum += (Integer)n;
+		}
+		return sum;
+	}
+
 	protected abstract <T extends Comparable<? super T>> AbstractArrayCollection<T> createCollection(int size);
 
 	protected abstract Integer[] getExpectedOrderFor(Integer[] values);
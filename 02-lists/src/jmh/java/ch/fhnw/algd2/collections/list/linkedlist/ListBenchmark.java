@@ -0,0 +1,81 @@
+package ch.fhnw.algd2.collections.list.linkedlist;
+
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the unrolled list with MyLinkedList and java.util.LinkedList, a
+ * doubly linked list with one node per element. Run with -prof gc to see the
+ * allocation per appended element.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ListBenchmark {
+	@Param({ "MyLinkedList", "UnrolledLinkedList", "LinkedList" })
+	public String kind;
+
+	@Param({ "1000", "100000", "10000000" })
+	public int size;
+
+	private List<Integer> list;
+
+	private List<Integer> create() {
+		switch (kind) {
+		case "MyLinkedList":
+			return new MyLinkedList<Integer>();
+		case "UnrolledLinkedList":
+			return new UnrolledLinkedList<Integer>();
+		case "LinkedList":
+			return new LinkedList<Integer>();
+		default:
+			throw new IllegalArgumentException("Unknown list " + kind);
+		}
+	}
+
+	@Setup
+	public void fill() {
+		list = append();
+	}
+
+	@Benchmark
+	public List<Integer> append() {
+		List<Integer> list = create();
+		for (int i = 0; i < size; i++) {
+			list.add(i);
+		}
+		return list;
+	}
+
+	/** Scans the whole list for an element which is not contained. */
+	@Benchmark
+	public boolean containsMissing() {
+		return list.contains(-1);
+	}
+
+	@Benchmark
+	public Integer getMiddle() {
+		return list.get(size / 2);
+	}
+
+	@Benchmark
+	public Object[] toArray() {
+		return list.toArray();
+	}
+}
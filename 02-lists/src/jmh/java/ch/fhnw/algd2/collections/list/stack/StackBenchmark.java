@@ -0,0 +1,79 @@
+package ch.fhnw.algd2.collections.list.stack;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Pushes depth values and pops them again, like an expression evaluation,
+ * on stacks which are reused between invocations. Run with -prof gc to see
+ * that only MyStack allocates.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StackBenchmark {
+	@Param({ "8", "64", "1024" })
+	public int depth;
+
+	private IStack<Integer> myStack, arrayStack;
+	private IntStack intStack;
+	private Integer[] values;
+
+	@Setup
+	public void init() {
+		myStack = new MyStack<Integer>();
+		arrayStack = new ArrayStack<Integer>();
+		intStack = new IntStack();
+		values = new Integer[depth];
+		for (int i = 0; i < depth; i++) {
+			values[i] = i;
+		}
+	}
+
+	private int pushAndPop(IStack<Integer> stack) {
+		for (Integer value : values) {
+			stack.push(value);
+		}
+		int sum = 0;
+		while (!stack.empty()) {
+			sum += stack.pop();
+		}
+		return sum;
+	}
+
+	@Benchmark
+	public int myStack() {
+		return pushAndPop(myStack);
+	}
+
+	@Benchmark
+	public int arrayStack() {
+		return pushAndPop(arrayStack);
+	}
+
+	@Benchmark
+	public int intStack() {
+		for (int i = 0; i < depth; i++) {
+			intStack.push(i);
+		}
+		int sum = 0;
+		while (!intStack.empty()) {
+			sum += intStack.pop();
+		}
+		return sum;
+	}
+}
@@ -0,0 +1,85 @@
+package ch.fhnw.algd2.collections.list.stack;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Every thread takes a buffer from a shared pool stack and returns it, once
+ * with ConcurrentStack and once with a MyStack guarded by its monitor. main
+ * runs the benchmark with 1 to 64 threads; a single thread count can be run
+ * with the -t option of JMH.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StackContentionBenchmark {
+	private static final int POOL_SIZE = 1024;
+
+	@Param({ "ConcurrentStack", "SynchronizedMyStack" })
+	public String kind;
+
+	private IStack<byte[]> pool;
+
+	@Setup
+	public void fill() {
+		pool = kind.equals("ConcurrentStack") ? new ConcurrentStack<byte[]>() : new SynchronizedStack<byte[]>();
+		for (int i = 0; i < POOL_SIZE; i++) {
+			pool.push(new byte[64]);
+		}
+	}
+
+	@Benchmark
+	public byte[] takeAndReturn() {
+		byte[] buffer = pool.pop();
+		return pool.push(buffer);
+	}
+
+	/** MyStack with every operation synchronized on the stack. */
+	private static class SynchronizedStack<E> implements IStack<E> {
+		private final MyStack<E> stack = new MyStack<E>();
+
+		@Override
+		public synchronized E pop() {
+			return stack.pop();
+		}
+
+		@Override
+		public synchronized E push(E elem) {
+			return stack.push(elem);
+		}
+
+		@Override
+		public synchronized E peek() {
+			return stack.peek();
+		}
+
+		@Override
+		public synchronized boolean empty() {
+			return stack.empty();
+		}
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		for (int threads = 1; threads <= 64; threads *= 2) {
+			new Runner(new OptionsBuilder().include(StackContentionBenchmark.class.getSimpleName()).threads(threads)
+					.build()).run();
+		}
+	}
+}
@@ -0,0 +1,200 @@
+package ch.fhnw.algd2.collections.list.linkedlist;
+
+import java.util.Objects;
+
+import ch.fhnw.algd2.collections.list.MyAbstractList;
+
+/**
+ * Singly linked list whose nodes hold up to nodeCapacity elements in an array
+ * instead of a single one. Appending fills the last node and only allocates a
+ * new node once it is full, so add(E) stays O(1) while the per element memory
+ * shrinks from a whole node to little more than an array slot. contains and
+ * get scan the arrays and follow a pointer only every nodeCapacity elements.
+ * <p>
+ * Inserting into a full node splits it in halves; a node which became small
+ * absorbs its successor if both fit into half a node.
+ */
+public class UnrolledLinkedList<E> extends MyAbstractList<E> {
+	public static final int DEFAULT_NODE_CAPACITY = 32;
+	private final int nodeCapacity;
+	private int size = 0;
+	private Node first;
+	private Node last;
+
+	public UnrolledLinkedList() {
+		this(DEFAULT_NODE_CAPACITY);
+	}
+
+	/** Creates a list whose nodes hold at most nodeCapacity (at least 2) elements. */
+	public UnrolledLinkedList(int nodeCapacity) {
+		if (nodeCapacity < 2) throw new IllegalArgumentException("Node capacity must be at least 2");
+		this.nodeCapacity = nodeCapacity;
+	}
+
+	private void checkIndex(int index, int length) {
+		if (index < 0 || index >= length) {
+			throw new IndexOutOfBoundsException("Index " + index + " is out of bounds for length " + size + ".");
+		}
+	}
+
+	@Override
+	public boolean add(E e) {
+		if (last == null) {
+			first = last = new Node(nodeCapacity, null);
+		} else if (last.count == nodeCapacity) {
+			last = last.next = new Node(nodeCapacity, null);
+		}
+		last.elems[last.count++] = e;
+		size++;
+		return true;
+	}
+
+	@Override
+	public boolean contains(Object o) {
+		for (Node node = first; node != null; node = node.next) {
+			if (node.indexOf(o) >= 0) return true;
+		}
+		return false;
+	}
+
+	@Override
+	public boolean remove(Object o) {
+		Node prev = null;
+		for (Node node = first; node != null; prev = node, node = node.next) {
+			int pos = node.indexOf(o);
+			if (pos >= 0) {
+				removeFrom(prev, node, pos);
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public E get(int index) {
+		checkIndex(index, size);
+		Node node = first;
+		if (index >= size - last.count) {
+			node = last;
+			index -= size - last.count;
+		}
+		while (index >= node.count) {
+			index -= node.count;
+			node = node.next;
+		}
+		return (E)node.elems[index];
+	}
+
+	@Override
+	public void add(int index, E element) {
+		checkIndex(index, size + 1);
+		if (index == size) {
+			add(element);
+			return;
+		}
+		Node node = first;
+		while (index >= node.count) {
+			index -= node.count;
+			node = node.next;
+		}
+		if (node.count == nodeCapacity) {
+			split(node);
+			if (index > node.count) {
+				index -= node.count;
+				node = node.next;
+			}
+		}
+		System.arraycopy(node.elems, index, node.elems, index + 1, node.count - index);
+		node.elems[index] = element;
+		node.count++;
+		size++;
+	}
+
+	/** Moves the upper half of a full node into a new node behind it. */
+	private void split(Node node) {
+		Node upper = new Node(nodeCapacity, node.next);
+		int half = node.count / 2, moved = node.count - half;
+		System.arraycopy(node.elems, half, upper.elems, 0, moved);
+		for (int i = half; i < node.count; i++) {
+			node.elems[i] = null;
+		}
+		upper.count = moved;
+		node.count = half;
+		node.next = upper;
+		if (last == node) last = upper;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public E remove(int index) {
+		checkIndex(index, size);
+		Node prev = null, node = first;
+		while (index >= node.count) {
+			index -= node.count;
+			prev = node;
+			node = node.next;
+		}
+		E removed = (E)node.elems[index];
+		removeFrom(prev, node, index);
+		return removed;
+	}
+
+	/**
+	 * Removes the element at pos in node, whose predecessor is prev. An emptied
+	 * node is unlinked, a node below a quarter of the node capacity absorbs its
+	 * successor if both fit into half a node.
+	 */
+	private void removeFrom(Node prev, Node node, int pos) {
+		int n = --node.count;
+		System.arraycopy(node.elems, pos + 1, node.elems, pos, n - pos);
+		node.elems[n] = null;
+		size--;
+		if (n == 0) {
+			if (prev == null) first = node.next;
+			else prev.next = node.next;
+			if (last == node) last = prev;
+		} else if (n < nodeCapacity / 4 && node.next != null && n + node.next.count <= nodeCapacity / 2) {
+			Node next = node.next;
+			System.arraycopy(next.elems, 0, node.elems, n, next.count);
+			node.count += next.count;
+			node.next = next.next;
+			if (last == next) last = node;
+		}
+	}
+
+	@Override
+	public Object[] toArray() {
+		Object[] array = new Object[size];
+		int index = 0;
+		for (Node node = first; node != null; node = node.next) {
+			System.arraycopy(node.elems, 0, array, index, node.count);
+			index += node.count;
+		}
+		return array;
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	private static class Node {
+		private final Object[] elems;
+		private int count;
+		private Node next;
+
+		private Node(int capacity, Node next) {
+			this.elems = new Object[capacity];
+			this.next = next;
+		}
+
+		/** Returns the position of the first element equal to o, or -1. */
+		private int indexOf(Object o) {
+			for (int i = 0; i < count; i++) {
+				if (Objects.equals(o, elems[i])) return i;
+			}
+			return -1;
+		}
+	}
+}
@@ -0,0 +1,64 @@
+package ch.fhnw.algd2.collections.list.stack;
+
+import java.util.Arrays;
+import java.util.EmptyStackException;
+
+/**
+ * Stack backed by an array which doubles when it is full. Unlike MyStack,
+ * push and pop allocate nothing once the array is large enough; pop clears
+ * the freed slot so that the stack does not keep popped elements alive.
+ */
+public class ArrayStack<E> implements IStack<E> {
+	public static final int DEFAULT_CAPACITY = 16;
+	/** Largest array size the VM reliably allocates. */
+	private static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+	private Object[] data;
+	private int size = 0;
+
+	public ArrayStack() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	public ArrayStack(int capacity) {
+		if (capacity < 1) throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+		data = new Object[capacity];
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public E pop() {
+		if (empty()) throw new EmptyStackException();
+		E elem = (E)data[--size];
+		data[size] = null;
+		return elem;
+	}
+
+	@Override
+	public E push(E elem) {
+		if (size == data.length) grow();
+		data[size++] = elem;
+		return elem;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public E peek() {
+		if (empty()) throw new EmptyStackException();
+		return (E)data[size - 1];
+	}
+
+	/** Doubles the array, but not beyond MAX_ARRAY_SIZE. */
+	private void grow() {
+		if (size >= MAX_ARRAY_SIZE) throw new OutOfMemoryError("Stack exceeds the maximal array size");
+		data = Arrays.copyOf(data, (int)Math.min(2L * size, MAX_ARRAY_SIZE));
+	}
+
+	@Override
+	public boolean empty() {
+		return size == 0;
+	}
+
+	public int size() {
+		return size;
+	}
+}
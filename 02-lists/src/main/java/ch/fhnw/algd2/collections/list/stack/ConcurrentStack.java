@@ -0,0 +1,98 @@
+package ch.fhnw.algd2.collections.list.stack;
+
+import java.util.EmptyStackException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Lock-free stack for several threads (Treiber stack): push and pop replace
+ * the top node by a compare-and-set and retry if another thread was faster.
+ * <p>
+ * Under contention the retries would serialize on the top node. Therefore a
+ * push whose compare-and-set failed offers its node in a random slot of an
+ * elimination array for a short while; a pop whose compare-and-set failed
+ * looks into a random slot and takes an offered node. Such a pair cancels out
+ * without touching the top node, as if the push had happened right before
+ * the pop.
+ */
+public class ConcurrentStack<E> implements IStack<E> {
+	private static final int SPINS = 64;
+	private static final Node<Object> TAKEN = new Node<Object>(null);
+	private final AtomicReference<Node<E>> top = new AtomicReference<Node<E>>();
+	private final AtomicReferenceArray<Node<?>> slots;
+
+	public ConcurrentStack() {
+		this(Math.min(Runtime.getRuntime().availableProcessors(), 32));
+	}
+
+	/** Creates a stack with an elimination array of the given length. */
+	public ConcurrentStack(int eliminationSlots) {
+		if (eliminationSlots < 1) throw new IllegalArgumentException("At least one elimination slot is required");
+		slots = new AtomicReferenceArray<Node<?>>(eliminationSlots);
+	}
+
+	@Override
+	public E push(E elem) {
+		Node<E> node = new Node<E>(elem);
+		while (true) {
+			Node<E> oldTop = top.get();
+			node.next = oldTop;
+			if (top.compareAndSet(oldTop, node) || eliminated(node)) return elem;
+		}
+	}
+
+	/** Offers node to a pop in a random slot and returns true if a pop took it. */
+	private boolean eliminated(Node<E> node) {
+		int slot = ThreadLocalRandom.current().nextInt(slots.length());
+		if (!slots.compareAndSet(slot, null, node)) return false;
+		for (int i = 0; i < SPINS; i++) {
+			if (slots.get(slot) == TAKEN) break;
+			Thread.onSpinWait();
+		}
+		if (slots.compareAndSet(slot, node, null)) return false; // withdrawn
+		slots.set(slot, null); // TAKEN, the slot is still reserved for this push
+		return true;
+	}
+
+	@Override
+	public E pop() {
+		while (true) {
+			Node<E> oldTop = top.get();
+			if (oldTop == null) throw new EmptyStackException();
+			if (top.compareAndSet(oldTop, oldTop.next)) return oldTop.elem;
+			Node<E> offered = takeOffered();
+			if (offered != null) return offered.elem;
+		}
+	}
+
+	/** Takes a node offered by a push in a random slot, or returns null. */
+	@SuppressWarnings("unchecked")
+	private Node<E> takeOffered() {
+		int slot = ThreadLocalRandom.current().nextInt(slots.length());
+		Node<?> offered = slots.get(slot);
+		if (offered == null || offered == TAKEN || !slots.compareAndSet(slot, offered, TAKEN)) return null;
+		return (Node<E>)offered;
+	}
+
+	@Override
+	public E peek() {
+		Node<E> node = top.get();
+		if (node == null) throw new EmptyStackException();
+		return node.elem;
+	}
+
+	@Override
+	public boolean empty() {
+		return top.get() == null;
+	}
+
+	private static class Node<E> {
+		private final E elem;
+		private Node<E> next;
+
+		private Node(E elem) {
+			this.elem = elem;
+		}
+	}
+}
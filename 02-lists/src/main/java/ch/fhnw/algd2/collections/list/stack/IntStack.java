@@ -0,0 +1,55 @@
+package ch.fhnw.algd2.collections.list.stack;
+
+import java.util.Arrays;
+import java.util.EmptyStackException;
+
+/**
+ * Stack of int values, see {@link ArrayStack}. The values are stored unboxed,
+ * so push and pop never allocate once the array is large enough.
+ */
+public class IntStack {
+	public static final int DEFAULT_CAPACITY = 16;
+	/** Largest array size the VM reliably allocates. */
+	private static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+	private int[] data;
+	private int size = 0;
+
+	public IntStack() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	public IntStack(int capacity) {
+		if (capacity < 1) throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+		data = new int[capacity];
+	}
+
+	public int pop() {
+		if (empty()) throw new EmptyStackException();
+		return data[--size];
+	}
+
+	public int push(int value) {
+		if (size == data.length) grow();
+		data[size++] = value;
+		return value;
+	}
+
+	public int peek() {
+		if (empty()) throw new EmptyStackException();
+		return data[size - 1];
+	}
+
+	/** Doubles the array, but not beyond MAX_ARRAY_SIZE. */
+	private void grow() {
+		if (size >= MAX_ARRAY_SIZE) throw new OutOfMemoryError("Stack exceeds the maximal array size");
+		data = Arrays.copyOf(data, (int)Math.min(2L * size, MAX_ARRAY_SIZE));
+	}
+
+	public boolean empty() {
+		return size == 0;
+	}
+
+	public int size() {
+		return size;
+	}
+}
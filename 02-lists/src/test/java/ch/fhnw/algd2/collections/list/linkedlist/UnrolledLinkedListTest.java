@@ -0,0 +1,78 @@
+package ch.fhnw.algd2.collections.list.linkedlist;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Runs the complete linked list tests with nodes of four elements, so that
+ * nodes are split and merged, and compares random operations with ArrayList.
+ */
+public class UnrolledLinkedListTest extends D_MyLinkedListTest_Complete {
+	@Override
+	@Before
+	public void init() {
+		list = new UnrolledLinkedList<Integer>(4);
+	}
+
+	@Test
+	public void randomOperations_SameAsArrayList() {
+		List<Integer> expected = new ArrayList<Integer>();
+		Random random = new Random(42);
+		for (int i = 0; i < 5000; i++) {
+			int op = random.nextInt(5);
+			Integer value = random.nextInt(50);
+			if (op == 0) {
+				assertEquals(expected.add(value), list.add(value));
+			} else if (op == 1) {
+				int index = random.nextInt(expected.size() + 1);
+				expected.add(index, value);
+				list.add(index, value);
+			} else if (op == 2 && !expected.isEmpty()) {
+				int index = random.nextInt(expected.size());
+				assertEquals(expected.remove(index), list.remove(index));
+			} else if (op == 3) {
+				assertEquals(expected.remove(value), list.remove(value));
+			} else if (!expected.isEmpty()) {
+				int index = random.nextInt(expected.size());
+				assertEquals(expected.get(index), list.get(index));
+				assertEquals(expected.contains(value), list.contains(value));
+			}
+			assertEquals(expected.size(), list.size());
+		}
+		assertArrayEquals(expected.toArray(), list.toArray());
+	}
+
+	@Test
+	public void removeAll_ThenAddAgain() {
+		for (int i = 0; i < 10; i++) {
+			list.add(i);
+		}
+		for (int i = 9; i >= 0; i--) {
+			assertEquals(Integer.valueOf(i), list.remove(i));
+		}
+		assertEquals(0, list.size());
+		assertTrue(list.add(7));
+		assertArrayEquals(new Object[] { 7 }, list.toArray());
+	}
+
+	@Test
+	public void nullElements() {
+		list.add(1);
+		list.add(null);
+		list.add(2);
+		assertTrue(list.contains(null));
+		assertNull(list.get(1));
+		assertTrue(list.remove(null));
+		assertFalse(list.contains(null));
+	}
+}
@@ -0,0 +1,65 @@
+package ch.fhnw.algd2.collections.list.stack;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.EmptyStackException;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/** Runs the stack tests on ArrayStack and tests the int and long stacks. */
+public class ArrayStackTest extends MyStackTest {
+	@Override
+	@Before
+	public void initialize() {
+		stack = new ArrayStack<Integer>(2);
+	}
+
+	@Test
+	public void pushAndPop_BeyondCapacity_ArrayGrows() {
+		for (int i = 0; i < 100; i++) {
+			stack.push(i);
+		}
+		for (int i = 99; i >= 0; i--) {
+			assertEquals(i, stack.pop().intValue());
+		}
+		assertTrue(stack.empty());
+	}
+
+	@Test
+	public void intStack_PushAndPop_LastInFirstOut() {
+		IntStack ints = new IntStack(2);
+		for (int i = 0; i < 100; i++) {
+			ints.push(i);
+		}
+		assertEquals(100, ints.size());
+		assertEquals(99, ints.peek());
+		for (int i = 99; i >= 0; i--) {
+			assertEquals(i, ints.pop());
+		}
+		assertTrue(ints.empty());
+	}
+
+	@Test
+	public void longStack_PushAndPop_LastInFirstOut() {
+		LongStack longs = new LongStack(2);
+		for (long i = 0; i < 100; i++) {
+			longs.push(i << 40);
+		}
+		for (long i = 99; i >= 0; i--) {
+			assertEquals(i << 40, longs.pop());
+		}
+		assertTrue(longs.empty());
+	}
+
+	@Test(expected = EmptyStackException.class)
+	public void intStack_PopEmpty_EmptyStackException() {
+		new IntStack().pop();
+	}
+
+	@Test(expected = EmptyStackException.class)
+	public void longStack_PeekEmpty_EmptyStackException() {
+		new LongStack().peek();
+	}
+}
@@ -0,0 +1,55 @@
+package ch.fhnw.algd2.collections.list.stack;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CyclicBarrier;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/** Runs the stack tests on ConcurrentStack and lets threads push and pop concurrently. */
+public class ConcurrentStackTest extends MyStackTest {
+	@Override
+	@Before
+	public void initialize() {
+		stack = new ConcurrentStack<Integer>(2);
+	}
+
+	@Test
+	public void pushAndPop_ConcurrentThreads_EveryElementPoppedOnce() throws Exception {
+		int threads = 4, count = 10000;
+		ConcurrentHashMap<Integer, Boolean> popped = new ConcurrentHashMap<Integer, Boolean>();
+		CyclicBarrier start = new CyclicBarrier(threads);
+		List<Thread> workers = new ArrayList<Thread>();
+		List<Throwable> failures = new ArrayList<Throwable>();
+		for (int t = 0; t < threads; t++) {
+			int first = t * count;
+			Thread worker = new Thread(() -> {
+				try {
+					start.await();
+					for (int i = first; i < first + count; i++) {
+						stack.push(i);
+						assertTrue(popped.put(stack.pop(), true) == null);
+					}
+				}
+				catch (Throwable e) {
+					synchronized (failures) {
+						failures.add(e);
+					}
+				}
+			});
+			workers.add(worker);
+			worker.start();
+		}
+		for (Thread worker : workers) {
+			worker.join();
+		}
+		assertTrue(failures.toString(), failures.isEmpty());
+		assertEquals(threads * count, popped.size());
+		assertTrue(stack.empty());
+	}
+}
@@ -14,7 +14,7 @@ import org.junit.Test;
 import org.junit.rules.Timeout;
 
 public class MyStackTest {
-	private IStack<Integer> stack;
+	protected IStack<Integer> stack;
 	@Rule
 	public Timeout globalTimeout = new Timeout(1000, TimeUnit.MILLISECONDS);
 
@@ -0,0 +1,88 @@
+package ch.fhnw.algd2.collections.list.linkedlist;
+
+import java.util.ListIterator;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Index-aware loops over a DoublyLinkedList. The time per loop has to grow
+ * linearly with the size, i.e. stay about 1000 times larger at 1M elements
+ * than at 1000 elements.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ListIteratorBenchmark {
+	@Param({ "1000", "100000", "1000000" })
+	public int size;
+
+	private DoublyLinkedList<Integer> list;
+
+	@Setup
+	public void fill() {
+		list = new DoublyLinkedList<Integer>();
+		for (int i = 0; i < size; i++) {
+			list.add(i);
+		}
+	}
+
+	@Benchmark
+	public long forwardWithIndices() {
+		long sum = 0;
+		ListIterator<Integer> it = list.listIterator();
+		while (it.hasNext()) {
+			sum += it.nextIndex() + it.next();
+		}
+		return sum;
+	}
+
+	@Benchmark
+	public long backwardWithIndices() {
+		long sum = 0;
+		ListIterator<Integer> it = list.listIterator(size);
+		while (it.hasPrevious()) {
+			sum += it.previousIndex() + it.previous();
+		}
+		return sum;
+	}
+
+	/** Replaces every other element by two, keeping the size constant. */
+	@Benchmark
+	public long addAndRemoveWithIndices() {
+		long sum = 0;
+		ListIterator<Integer> it = list.listIterator();
+		while (it.hasNext()) {
+			Integer e = it.next();
+			if ((e & 1) == 0) {
+				it.remove();
+				it.add(e);
+				sum += it.previousIndex();
+			}
+		}
+		return sum;
+	}
+
+	/** get(i) in an index loop, which the finger of DoublyLinkedList keeps linear as well. */
+	@Benchmark
+	public long getLoop() {
+		long sum = 0;
+		for (int i = 0; i < size; i++) {
+			sum += list.get(i);
+		}
+		return sum;
+	}
+}
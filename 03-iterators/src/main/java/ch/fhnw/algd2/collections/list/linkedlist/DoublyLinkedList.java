@@ -7,25 +7,75 @@ import ch.fhnw.algd2.collections.list.MyAbstractList;
 public class DoublyLinkedList<E> extends MyAbstractList<E> {
 	// variable int modCount already declared by AbstractList<E>
 	private int size = 0;
-	private Node<E> first = new Node<>(null), last;
-
-	@Override
-	public boolean add(E e) {
-		Node<E> newNode = new Node<>(e);
-		if (size == 0) {
-			first.prev = newNode;
-			first.next = newNode;
-			newNode.prev = first;
-			newNode.next = first;
+	// sentinel of the cyclic list: first.next is the first node, first.prev the last one
+	private final Node<E> first = new Node<>(null);
+	// node of the last index access, valid while fingerModCount == modCount
+	private Node<E> finger;
+	private int fingerIndex, fingerModCount = -1;
+
+	/**
+	 * Returns the node at index, 0 <= index < size. The walk starts at the
+	 * nearest of the first node, the last node and the node of the last index
+	 * access, so that loops over ascending or descending indices take a single
+	 * step per access.
+	 */
+	private Node<E> node(int index) {
+		Node<E> node;
+		int steps;
+		if (index < size - 1 - index) {
+			node = first.next;
+			steps = index;
 		} else {
-			first.prev = newNode;
-			last.next = newNode;
-			newNode.prev = last;
-			newNode.next = first;
+			node = first.prev;
+			steps = index - (size - 1);
+		}
+		if (fingerModCount == modCount && Math.abs(index - fingerIndex) < Math.abs(steps)) {
+			node = finger;
+			steps = index - fingerIndex;
+		}
+		for (; steps > 0; steps--) {
+			node = node.next;
 		}
-		last = newNode;
+		for (; steps < 0; steps++) {
+			node = node.prev;
+		}
+		setFinger(node, index);
+		return node;
+	}
+
+	private void setFinger(Node<E> node, int index) {
+		finger = node;
+		fingerIndex = index;
+		fingerModCount = modCount;
+	}
+
+	public DoublyLinkedList() {
+		first.prev = first;
+		first.next = first;
+	}
+
+	/** Inserts a node holding e before successor, which may be the sentinel. */
+	private Node<E> linkBefore(E e, Node<E> successor) {
+		Node<E> newNode = new Node<>(successor.prev, e, successor);
+		successor.prev.next = newNode;
+		successor.prev = newNode;
 		size++;
 		modCount++;
+		return newNode;
+	}
+
+	private void unlink(Node<E> node) {
+		node.prev.next = node.next;
+		node.next.prev = node.prev;
+		node.prev = null;
+		node.next = null;
+		size--;
+		modCount++;
+	}
+
+	@Override
+	public boolean add(E e) {
+		linkBefore(e, first);
 		return true;
 	}
 
@@ -34,91 +84,21 @@ public class DoublyLinkedList<E> extends MyAbstractList<E> {
 		if (index < 0 || index > size) {
 			throw new IndexOutOfBoundsException("Index " + index + " is out of bounds for length " + size + ".");
 		}
-		// first element
-		if (index == 0) {
-			if (size == 0) {
-				first.next = new Node<>(first, element, first);
-				first.prev = first.next;
-				last = first.next;
-			} else {
-				Node<E> newNode = new Node<>(first, element, first.next);
-				first.next.prev = newNode;
-				first.next = newNode;
-			}
-			size++;
-			modCount++;
-			return;
-		}
-
-		// last element
-		if (index == size) {
-			Node<E> newNode = new Node<>(last, element, first);
-			last.next = newNode;
-			first.prev = last.next;
-			last = newNode;
-			size++;
-			modCount++;
-			return;
-		}
-
-		// middle element
-		Node<E> currentNode = first.next;
-		for (int i = 0; i < index; i++) {
-			currentNode = currentNode.next;
-		}
-		Node<E> newNode = new Node<>(currentNode.prev, element, currentNode);
-		currentNode.prev.next = newNode;
-		currentNode.prev = newNode;
-		size++;
-		modCount++;
+		Node<E> newNode = linkBefore(element, index == size ? first : node(index));
+		setFinger(newNode, index);
 	}
 
 	@Override
 	public boolean remove(Object o) {
 		Node<E> current = first.next;
-		while(current != null && current != first && !Objects.equals(o, current.elem)) {
+		while (current != first && !Objects.equals(o, current.elem)) {
 			current = current.next;
 		}
 
 		// o not contained
-		if (current == null || current.elem == null) return false;
-
-		// o is first
-		if (first.next == current) {
-			first.next = current.next;
-			current.next.prev = first;
-			current.prev = null;
-			current.next = null;
-
-			// o is the only element of the list
-			if (size == 1) {
-				first.prev = first;
-				last = first;
-			}
-			size--;
-			modCount++;
-			return true;
-		}
-
-		// o is last
-		if (last == current) {
-			current.prev.next = first;
-			first.prev = current.prev;
-			last = current.prev;
-			current.next = null;
-			current.prev = null;
-			size--;
-			modCount++;
-			return true;
-		}
+		if (current == first) return false;
 
-		// o is an element in the middle
-		current.prev.next = current.next;
-		current.next.prev = current.prev;
-		current.next = null;
-		current.prev = null;
-		size--;
-		modCount++;
+		unlink(current);
 		return true;
 	}
 
@@ -127,31 +107,10 @@ public class DoublyLinkedList<E> extends MyAbstractList<E> {
 		if (index < 0 || index >= size) {
 			throw new IndexOutOfBoundsException("Index " + index + " is out of bounds for length " + size + ".");
 		}
-		// first element
-		if (index == 0) {
-			Node<E> removedNode = first.next;
-			if (size == 1) {
-				first.next = first;
-				first.prev = first;
-			}
-			else {
-				first.next = removedNode.next;
-				removedNode.next.prev = first;
-			}
-			size--;
-			modCount++;
-			return removedNode.elem;
-		}
-
-		Node<E> currentNode = first.next;
-		for (int i = 0; i < index; i++) {
-			currentNode = currentNode.next;
-		}
-		currentNode.prev.next = currentNode.next;
-		currentNode.next.prev = currentNode.prev;
-		if (index == size - 1) last = currentNode.prev;
-		size--;
-		modCount++;
+		Node<E> currentNode = node(index);
+		Node<E> successor = currentNode.next;
+		unlink(currentNode);
+		if (index < size) setFinger(successor, index);
 		return currentNode.elem;
 	}
 
@@ -173,13 +132,7 @@ public class DoublyLinkedList<E> extends MyAbstractList<E> {
 			throw new IndexOutOfBoundsException("Index " + index + " is out of bounds for length " + size + ".");
 		}
 
-		Node<E> currentNode = first.next;
-		int currentIndex = 0;
-		while (currentIndex < index) {
-			currentIndex++;
-			currentNode = currentNode.next;
-		}
-		return currentNode.elem;
+		return node(index).elem;
 	}
 
 	@Override
@@ -225,6 +178,19 @@ public class DoublyLinkedList<E> extends MyAbstractList<E> {
 		return new MyListIterator();
 	}
 
+	@Override
+	public ListIterator<E> listIterator(int index) {
+		if (index < 0 || index > size) {
+			throw new IndexOutOfBoundsException("Index " + index + " is out of bounds for length " + size + ".");
+		}
+		MyListIterator it = new MyListIterator();
+		if (index > 0) {
+			it.next = index == size ? first : node(index);
+			it.nextIndex = index;
+		}
+		return it;
+	}
+
 	private static class Node<E> {
 		private E elem;
 		private Node<E> prev, next;
@@ -243,20 +209,22 @@ public class DoublyLinkedList<E> extends MyAbstractList<E> {
 	private class MyListIterator implements ListIterator<E> {
 
 		Node<E> next = first.next, returnedNode;
+		int nextIndex = 0; // index of next, kept up to date by every move and change
 		int iterModCount = modCount;
 		boolean mayChange = false, hasChanged = false;
 
 		@Override
 		public boolean hasNext() {
-			return next != first && next != null;
+			return next != first;
 		}
 
 		@Override
 		public E next() {
-			if (next == null || next == first) throw new NoSuchElementException();
+			if (next == first) throw new NoSuchElementException();
 			if(iterModCount != modCount) throw new ConcurrentModificationException();
 			returnedNode = next;
 			next = next.next;
+			nextIndex++;
 			mayChange = true;
 			hasChanged = false;
 			return returnedNode.elem;
@@ -264,15 +232,16 @@ public class DoublyLinkedList<E> extends MyAbstractList<E> {
 
 		@Override
 		public boolean hasPrevious() {
-			return next.prev != first && next.prev != null;
+			return next.prev != first;
 		}
 
 		@Override
 		public E previous() {
-			if (next.prev == null || next.prev == first) throw new NoSuchElementException();
+			if (next.prev == first) throw new NoSuchElementException();
 			if(iterModCount != modCount) throw new ConcurrentModificationException();
 			returnedNode = next.prev;
 			next = next.prev;
+			nextIndex--;
 			mayChange = true;
 			hasChanged = false;
 			return returnedNode.elem;
@@ -280,54 +249,22 @@ public class DoublyLinkedList<E> extends MyAbstractList<E> {
 
 		@Override
 		public int nextIndex() {
-			Node<E> currentNode = first.next;
-			int index = 0;
-			if (currentNode == null) return 0;
-
-			while (currentNode != next) {
-				currentNode = currentNode.next;
-				index++;
-			}
-			return index;
+			return nextIndex;
 		}
 
 		@Override
 		public int previousIndex() {
-			Node<E> currentNode = first.next;
-			int index = 0;
-			if (currentNode == null) return 0;
-
-			while (currentNode != next.prev) {
-				currentNode = currentNode.next;
-				index++;
-			}
-			return index;
+			return nextIndex - 1;
 		}
 
 		@Override
 		public void remove() {
 			if (iterModCount != modCount) throw new ConcurrentModificationException();
 			if (!mayChange) throw new IllegalStateException();
-			// remove first
-			if (returnedNode == first.next) {
-				returnedNode.next.prev = first;
-				first.next = returnedNode.next;
-			}
-			// remove last, next is first
-			else if (returnedNode.next == first) {
-				last = returnedNode.prev;
-				last.next = first;
-				first.prev = last;
-			}
-			// remove element in the middle
-			else {
-				returnedNode.prev.next = returnedNode.next;
-				returnedNode.next.prev = returnedNode.prev;
-			}
-			if (next == returnedNode) next = returnedNode.next;
+			if (next == returnedNode) next = returnedNode.next; // returned by previous
+			else nextIndex--; // returned by next, so it was before the cursor
+			unlink(returnedNode);
 			returnedNode = null;
-			size--;
-			modCount++;
 			iterModCount++;
 			mayChange = false;
 			hasChanged = true;
@@ -341,29 +278,8 @@ public class DoublyLinkedList<E> extends MyAbstractList<E> {
 
 		@Override
 		public void add(E e) {
-			// add at the start
-			if (next == first.next) {
-				Node<E> newNode = new Node<>(first, e, next);
-				first.next.prev = newNode;
-				first.next = newNode;
-			}
-
-			// add at the end
-			else if (next == first) {
-				Node<E> newNode = new Node<>(last, e, first);
-				last.next = newNode;
-				first.prev = newNode;
-				last = newNode;
-			}
-			// middle
-			else {
-				Node<E> newNode = new Node<>(next.prev, e, next);
-				next.prev.next = newNode;
-				next.prev = newNode;
-			}
-
-			size++;
-			modCount++;
+			linkBefore(e, next);
+			nextIndex++;
 			iterModCount++;
 			mayChange = false;
 			hasChanged = true;
@@ -1,11 +1,15 @@
 package ch.fhnw.algd2.collections.list.iterator;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.ListIterator;
+import java.util.Random;
 
 import org.junit.Test;
 
@@ -274,6 +278,76 @@ public class D_DLL_ListIteratorTest extends AbstractListIteratorTest {
 		assertEquals(zero, it.previous());
 	}
 
+	@Test
+	public void testPreviousIndexAtHead() {
+		addAllNumberToList(allNumbers);
+		ListIterator<Integer> it = list.listIterator();
+		assertEquals(-1, it.previousIndex());
+		it.next();
+		it.previous();
+		assertEquals(-1, it.previousIndex());
+	}
+
+	@Test
+	public void testListIteratorAtIndex() {
+		addAllNumberToList(allNumbers);
+		ListIterator<Integer> it = list.listIterator(3);
+		assertEquals(3, it.nextIndex());
+		assertSame(four, it.next());
+		it = list.listIterator(5);
+		assertEquals(4, it.previousIndex());
+		assertFalse(it.hasNext());
+		assertSame(five, it.previous());
+	}
+
+	@Test
+	public void testAddAtEndAfterIteratorChanges() {
+		addAllNumberToList(allNumbers);
+		ListIterator<Integer> it = list.listIterator(5);
+		it.previous();
+		it.remove(); // removes five
+		it.add(five);
+		it = list.listIterator(list.size());
+		it.add(one);
+		checkIteratorForwardsAndBackwards(new Integer[] { one, two, three, four, five, one });
+		assertEquals(6, it.nextIndex());
+		list.add(two);
+		checkIteratorForwardsAndBackwards(new Integer[] { one, two, three, four, five, one, two });
+	}
+
+	@Test
+	public void testIndicesSameAsArrayList() {
+		List<Integer> expected = new ArrayList<Integer>();
+		for (int i = 0; i < 20; i++) {
+			expected.add(i);
+			list.add(i);
+		}
+		ListIterator<Integer> expectedIt = expected.listIterator(), it = list.listIterator();
+		Random random = new Random(42);
+		for (int i = 0; i < 2000; i++) {
+			int op = random.nextInt(4);
+			if (op == 0 && expectedIt.hasNext()) {
+				assertEquals(expectedIt.next(), it.next());
+				if (random.nextBoolean()) {
+					expectedIt.remove();
+					it.remove();
+				}
+			} else if (op == 1 && expectedIt.hasPrevious()) {
+				assertEquals(expectedIt.previous(), it.previous());
+				if (random.nextBoolean()) {
+					expectedIt.remove();
+					it.remove();
+				}
+			} else if (op == 2) {
+				expectedIt.add(i);
+				it.add(i);
+			}
+			assertEquals(expectedIt.nextIndex(), it.nextIndex());
+			assertEquals(expectedIt.previousIndex(), it.previousIndex());
+		}
+		assertArrayEquals(expected.toArray(), list.toArray());
+	}
+
 	private void checkIteratorForwardsAndBackwards(Integer[] numbers) {
 		// Forward Iteration
 		ListIterator<Integer> it = list.listIterator();
@@ -0,0 +1,96 @@
+package ch.fhnw.algd2.collections.list.linkedlist;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Random;
+
+import org.junit.Test;
+
+import ch.fhnw.algd2.collections.list.DoublyLinkedListFactory;
+import ch.fhnw.algd2.collections.list.MyAbstractList;
+
+/**
+ * Index operations walk from the nearest end or from the last accessed node;
+ * mixes them with other modifications and compares the result with ArrayList.
+ */
+public class DLL_E_Test_IndexAccess extends AbstractMyLinkedListTest {
+	@Override
+	protected <T> MyAbstractList<T> getListInstance() {
+		return DoublyLinkedListFactory.createInstance();
+	}
+
+	@Test
+	public void get_AscendingAndDescendingIndices_AllElements() {
+		for (int i = 0; i < 100; i++) {
+			list.add(i);
+		}
+		for (int i = 0; i < 100; i++) {
+			assertEquals(Integer.valueOf(i), list.get(i));
+		}
+		for (int i = 99; i >= 0; i--) {
+			assertEquals(Integer.valueOf(i), list.get(i));
+		}
+	}
+
+	@Test
+	public void add_AfterIteratorRemoveAndAdd_AppendsAtEnd() {
+		list.add(1);
+		ListIterator<Integer> it = list.listIterator();
+		it.next();
+		it.remove();
+		it.add(5);
+		list.add(6);
+		assertArrayEquals(new Object[] { 5, 6 }, list.toArray());
+		assertEquals(Integer.valueOf(6), list.get(1));
+		list.add(2, 7);
+		assertArrayEquals(new Object[] { 5, 6, 7 }, list.toArray());
+	}
+
+	@Test
+	public void randomOperations_SameAsArrayList() {
+		List<Integer> expected = new ArrayList<Integer>();
+		Random random = new Random(42);
+		for (int i = 0; i < 5000; i++) {
+			int op = random.nextInt(7);
+			Integer value = random.nextInt(50);
+			if (op == 0) {
+				expected.add(value);
+				list.add(value);
+			} else if (op == 1) {
+				int index = random.nextInt(expected.size() + 1);
+				expected.add(index, value);
+				list.add(index, value);
+			} else if (op == 2 && !expected.isEmpty()) {
+				int index = random.nextInt(expected.size());
+				assertEquals(expected.remove(index), list.remove(index));
+			} else if (op == 3) {
+				assertEquals(expected.remove(value), list.remove(value));
+			} else if (op == 4 && !expected.isEmpty()) {
+				int index = random.nextInt(expected.size());
+				ListIterator<Integer> it = list.listIterator();
+				for (int j = 0; j <= index; j++) {
+					it.next();
+				}
+				it.remove();
+				expected.remove(index);
+			} else if (op == 5) {
+				int index = random.nextInt(expected.size() + 1);
+				ListIterator<Integer> it = list.listIterator();
+				for (int j = 0; j < index; j++) {
+					it.next();
+				}
+				it.add(value);
+				expected.add(index, value);
+			} else if (!expected.isEmpty()) {
+				int index = random.nextInt(expected.size());
+				assertEquals(expected.get(index), list.get(index));
+			}
+			assertEquals(expected.size(), list.size());
+		}
+		assertArrayEquals(expected.toArray(), list.toArray());
+	}
+}